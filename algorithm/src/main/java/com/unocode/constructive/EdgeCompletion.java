@@ -0,0 +1,204 @@
+package com.unocode.constructive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Q22967의 간선 추가 구성을 큰 트리에서 빠르게 하기 위한 인접 관계 색인과 출력기
+// - 정점별 이웃을 CSR(offset/adjacency)로 모으고 각 구간을 정렬해 둔다. (boxing 없음)
+// - hasEdge(u, v)는 u의 정렬된 이웃 구간에서 이분 탐색: O(log deg(u)). (O(1) 인접 행렬은 두지 않는다.
+//   complete()에서 hasEdge를 쓰는 곳은 N <= 4 완전 그래프 경로뿐이라 행렬을 만들 이유가 없다)
+// - 한 정점 u에 대해 빠진 간선을 모두 훑을 때는 u의 이웃만 비트셋 한 줄로 펼쳐 O(N)에 끝낸다.
+// - 추가 간선은 ByteWriter 하나(큰 byte[] 버퍼)로 출력한다.
+public class EdgeCompletion {
+
+    final int n;
+    final int[] offset;
+    final int[] adjacency;
+
+    // 정점 번호는 1..n, 간선 수는 edgeCount (Q22967 입력 그대로)
+    EdgeCompletion(int n, int[] from, int[] to, int edgeCount) {
+        this.n = n;
+        this.offset = new int[n + 2];
+        for (int e = 0; e < edgeCount; e++) {
+            offset[from[e] + 1]++;
+            offset[to[e] + 1]++;
+        }
+        for (int v = 0; v <= n; v++) {
+            offset[v + 1] += offset[v];
+        }
+        this.adjacency = new int[offset[n + 1]];
+        int[] cursor = Arrays.copyOf(offset, n + 1);
+        for (int e = 0; e < edgeCount; e++) {
+            adjacency[cursor[from[e]]++] = to[e];
+            adjacency[cursor[to[e]]++] = from[e];
+        }
+        for (int v = 1; v <= n; v++) {
+            Arrays.sort(adjacency, offset[v], offset[v + 1]);
+        }
+    }
+
+    int degree(int u) {
+        return offset[u + 1] - offset[u];
+    }
+
+    // O(log deg(u))
+    boolean hasEdge(int u, int v) {
+        return Arrays.binarySearch(adjacency, offset[u], offset[u + 1], v) >= 0;
+    }
+
+    // Q22967과 같은 구성: N <= 4 이면 완전 그래프(지름 1), 아니면 정점 1 중심의 별 모양(지름 2)
+    void complete(ByteWriter out) throws IOException {
+        if (n <= 4) {
+            long existing = offset[n + 1] / 2;
+            out.writeLong((long) n * (n - 1) / 2 - existing);
+            out.newLine();
+            out.writeInt(1);
+            out.newLine();
+            for (int i = 1; i <= n; i++) {
+                for (int j = i + 1; j <= n; j++) {
+                    if (!hasEdge(i, j)) out.writeEdge(i, j);
+                }
+            }
+            return;
+        }
+
+        int center = 1;
+        out.writeInt(n - 1 - degree(center));
+        out.newLine();
+        out.writeInt(2);
+        out.newLine();
+        // 중심의 이웃만 한 줄 비트셋으로 펼쳐서 2..n을 훑는다.
+        long[] row = new long[(n + 64) >>> 6];
+        for (int e = offset[center]; e < offset[center + 1]; e++) {
+            int v = adjacency[e];
+            row[v >>> 6] |= 1L << v;
+        }
+        for (int v = 2; v <= n; v++) {
+            if ((row[v >>> 6] & (1L << v)) == 0) out.writeEdge(center, v);
+        }
+    }
+
+    // 숫자와 개행만 쓰는 버퍼 출력기. flush 전에는 OutputStream에 쓰지 않는다.
+    static class ByteWriter {
+        final OutputStream out;
+        final byte[] buffer;
+        int position;
+
+        ByteWriter(OutputStream out, int bufferBytes) {
+            this.out = out;
+            this.buffer = new byte[Math.max(bufferBytes, 64)];
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.length - position < bytes) flush();
+        }
+
+        void writeInt(int value) throws IOException {
+            writeLong(value);
+        }
+
+        void writeLong(long value) throws IOException {
+            ensure(20);
+            if (value < 0) {
+                buffer[position++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long v = value; v >= 10; v /= 10) digits++;
+            for (int i = position + digits - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += digits;
+        }
+
+        void writeEdge(int u, int v) throws IOException {
+            writeInt(u);
+            ensure(1);
+            buffer[position++] = ' ';
+            writeInt(v);
+            newLine();
+        }
+
+        void newLine() throws IOException {
+            ensure(1);
+            buffer[position++] = '\n';
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+            out.flush();
+        }
+    }
+
+    // 기존 방식(List<Integer>.contains + 간선마다 println)과 비교
+    // 중심(1)의 차수가 큰 트리일수록 contains가 느려진다.
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(22967);
+        for (int n : new int[]{3, 4, 20_000, 100_000, 1_000_000}) {
+            // 절반은 1번에 붙이고 나머지는 앞 정점 중 무작위에 붙인 트리
+            int[] from = new int[n - 1];
+            int[] to = new int[n - 1];
+            for (int v = 2; v <= n; v++) {
+                from[v - 2] = v <= n / 2 ? 1 : random.nextInt(v - 1) + 1;
+                to[v - 2] = v;
+            }
+
+            Path oldOut = Files.createTempFile("q22967-old", ".txt");
+            Path newOut = Files.createTempFile("q22967-new", ".txt");
+            long t0 = System.nanoTime();
+            if (n <= 100_000) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(oldOut), true)) {
+                    listBased(n, from, to, out);
+                }
+            }
+            long t1 = System.nanoTime();
+            try (OutputStream stream = Files.newOutputStream(newOut)) {
+                ByteWriter out = new ByteWriter(stream, 1 << 16);
+                new EdgeCompletion(n, from, to, n - 1).complete(out);
+                out.flush();
+            }
+            long t2 = System.nanoTime();
+
+            boolean same = n > 100_000 || Arrays.equals(Files.readAllBytes(oldOut), Files.readAllBytes(newOut));
+            System.out.printf("N=%d List.contains + println %s, index + byte writer %d ms, same=%s%n",
+                    n, n > 100_000 ? "skipped" : (t1 - t0) / 1_000_000 + " ms", (t2 - t1) / 1_000_000,
+                    n > 100_000 ? "-" : String.valueOf(same));
+            Files.delete(oldOut);
+            Files.delete(newOut);
+        }
+    }
+
+    // Q22967의 원래 구현 (출력 대상만 인자로 받는다)
+    static void listBased(int n, int[] from, int[] to, PrintStream out) {
+        List<List<Integer>> graph = new ArrayList<>();
+        for (int i = 0; i <= n; i++) graph.add(new ArrayList<>());
+        for (int e = 0; e < n - 1; e++) {
+            graph.get(from[e]).add(to[e]);
+            graph.get(to[e]).add(from[e]);
+        }
+        List<int[]> added = new ArrayList<>();
+        if (n <= 4) {
+            for (int i = 1; i <= n; i++) {
+                for (int j = i + 1; j <= n; j++) {
+                    if (!graph.get(i).contains(j)) added.add(new int[]{i, j});
+                }
+            }
+        } else {
+            for (int i = 2; i <= n; i++) {
+                if (!graph.get(1).contains(i)) added.add(new int[]{1, i});
+            }
+        }
+        out.println(added.size());
+        out.println(n <= 4 ? 1 : 2);
+        for (int[] edge : added) out.println(edge[0] + " " + edge[1]);
+    }
+}
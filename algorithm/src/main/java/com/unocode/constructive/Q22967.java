@@ -22,6 +22,19 @@ public class Q22967 {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         int N = Integer.parseInt(br.readLine());
 
+        // 간선을 primitive 배열로 모아 색인(EdgeCompletion)을 만들고, 추가 간선은 버퍼 하나로 출력한다.
+        int[] from = new int[N - 1];
+        int[] to = new int[N - 1];
+        for (int i = 0; i < N - 1; i++) {
+            StringTokenizer st = new StringTokenizer(br.readLine());
+            from[i] = Integer.parseInt(st.nextToken());
+            to[i] = Integer.parseInt(st.nextToken());
+        }
+        EdgeCompletion.ByteWriter out = new EdgeCompletion.ByteWriter(System.out, 1 << 16);
+        new EdgeCompletion(N, from, to, N - 1).complete(out);
+        out.flush();
+
+        /*
         graph = new ArrayList<>();
         addedEdges = new ArrayList<>();
 
@@ -66,5 +79,6 @@ public class Q22967 {
         for (Connection c : addedEdges) {
             System.out.println(c.u + " " + c.v);
         }
+        */
     }
 }
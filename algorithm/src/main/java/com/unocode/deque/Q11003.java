@@ -3,8 +3,8 @@ package com.unocode.deque;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.ArrayDeque;
 import java.util.StringTokenizer;
+import java.util.concurrent.ForkJoinPool;
 
 public class Q11003 {
 
@@ -16,8 +16,20 @@ public class Q11003 {
         int L = Integer.parseInt(st.nextToken());
 
         st = new StringTokenizer(br.readLine(), " ");
-        ArrayDeque<int[]> deque = new ArrayDeque<>();
+        int[] array = new int[N];
+        for (int i = 0 ; i < N ; i++) {
+            array[i] = Integer.parseInt(st.nextToken());
+        }
+
+        // 원소마다 new int[]{value, i}를 만드는 ArrayDeque 대신 블록 prefix/suffix 최솟값(van Herk/Gil-Werman)으로 계산
+        int[] minimums = SlidingWindow.blockMinimums(array, L, ForkJoinPool.commonPool());
         StringBuilder sb = new StringBuilder();
+        for (int i = 0 ; i < N ; i++) {
+            sb.append(minimums[i]).append(' ');
+        }
+
+        /*
+        ArrayDeque<int[]> deque = new ArrayDeque<>();
 
         for (int i = 0 ; i < N ; i++) {
             int value = Integer.parseInt(st.nextToken());
@@ -33,6 +45,7 @@ public class Q11003 {
 
             if (!deque.isEmpty()) sb.append(deque.peekFirst()[0]).append(' ');
         }
+        */
 
         System.out.println(sb);
     }
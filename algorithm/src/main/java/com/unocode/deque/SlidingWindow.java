@@ -0,0 +1,186 @@
+package com.unocode.deque;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// 크기 L 구간 [i-L+1, i]의 최솟값/최댓값
+// 1. 스트리밍: 단조 deque를 int[] 링 버퍼(index, 값)로 구현, 원소마다 객체를 만들지 않는다. (Q11003의 new int[]{value, i} 제거)
+// 2. van Herk/Gil-Werman: 배열을 L 크기 블록으로 나눠 블록 내 prefix/suffix 최솟값을 구하면
+//    구간 최솟값 = min(suffix[i-L+1], prefix[i]). 블록끼리 독립이라 fork-join으로 나눠 계산한다.
+// 구간 시작이 0보다 작으면 0부터로 자른다. (Q11003 정의)
+public class SlidingWindow {
+
+    final int window;
+    final boolean max;
+    // 링 버퍼: 앞에서부터 index 증가, 값은 단조 증가(min) / 단조 감소(max)
+    final int[] indexes;
+    final int[] values;
+    int head;
+    int size;
+    int next;
+
+    SlidingWindow(int window, boolean max) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive: " + window);
+        }
+        this.window = window;
+        this.max = max;
+        this.indexes = new int[window];
+        this.values = new int[window];
+    }
+
+    static SlidingWindow min(int window) {
+        return new SlidingWindow(window, false);
+    }
+
+    static SlidingWindow max(int window) {
+        return new SlidingWindow(window, true);
+    }
+
+    // 값을 하나 넣고 그 값으로 끝나는 구간의 최솟값(최댓값)을 돌려준다.
+    int push(int value) {
+        int i = next++;
+
+        // 뒤에서부터 새 값보다 나쁜 값은 다시 답이 될 수 없으므로 버린다.
+        while (size > 0) {
+            int last = values[(head + size - 1) % window];
+            if (max ? last >= value : last <= value) break;
+            size--;
+        }
+        if (size > 0 && indexes[head] <= i - window) {
+            head = (head + 1) % window;
+            size--;
+        }
+        int tail = (head + size) % window;
+        indexes[tail] = i;
+        values[tail] = value;
+        size++;
+        return values[head];
+    }
+
+    void reset() {
+        head = 0;
+        size = 0;
+        next = 0;
+    }
+
+    // 블록 크기 L의 van Herk/Gil-Werman 최솟값. result[i] = min(array[max(0, i-L+1) .. i])
+    // 1단계에서 모든 블록의 prefix/suffix를, 2단계에서 구간 답을 병렬로 채운다.
+    static int[] blockMinimums(int[] array, int window, ForkJoinPool pool) {
+        int n = array.length;
+        int[] prefix = new int[n];
+        int[] suffix = new int[n];
+        int[] result = new int[n];
+        int blocks = (n + window - 1) / window;
+        pool.invoke(new BlockTask(false, array, window, prefix, suffix, result, 0, blocks));
+        pool.invoke(new BlockTask(true, array, window, prefix, suffix, result, 0, blocks));
+        return result;
+    }
+
+    static class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // 작업 하나가 최소 이만큼의 원소는 맡도록 블록 수를 정한다.
+        static final int MIN_ELEMENTS_PER_TASK = 1 << 15;
+
+        final boolean combine;
+        final int[] array;
+        final int window;
+        final int[] prefix;
+        final int[] suffix;
+        final int[] result;
+        final int fromBlock;
+        final int toBlock;
+
+        BlockTask(boolean combine, int[] array, int window, int[] prefix, int[] suffix, int[] result,
+                  int fromBlock, int toBlock) {
+            this.combine = combine;
+            this.array = array;
+            this.window = window;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.result = result;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock > 1 && (long) (toBlock - fromBlock) * window > MIN_ELEMENTS_PER_TASK) {
+                int mid = (fromBlock + toBlock) >>> 1;
+                invokeAll(new BlockTask(combine, array, window, prefix, suffix, result, fromBlock, mid),
+                        new BlockTask(combine, array, window, prefix, suffix, result, mid, toBlock));
+                return;
+            }
+
+            int n = array.length;
+            for (int b = fromBlock; b < toBlock; b++) {
+                int from = b * window;
+                int to = Math.min(n, from + window);
+                if (combine) {
+                    for (int i = from; i < to; i++) {
+                        int start = i - window + 1;
+                        // start가 블록 경계면 prefix[i]가 곧 구간 전체, 0 이하이면 0부터의 prefix
+                        result[i] = start <= 0 || start == from ? prefix[i] : Math.min(suffix[start], prefix[i]);
+                    }
+                } else {
+                    prefix[from] = array[from];
+                    for (int i = from + 1; i < to; i++) {
+                        prefix[i] = Math.min(prefix[i - 1], array[i]);
+                    }
+                    suffix[to - 1] = array[to - 1];
+                    for (int i = to - 2; i >= from; i--) {
+                        suffix[i] = Math.min(suffix[i + 1], array[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    // 기존 ArrayDeque<int[]> 방식과 링 버퍼 / 블록 방식 비교 (Q11003 최대 입력 N = 5,000,000)
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Random random = new Random(11003);
+        int[] array = new int[n];
+        for (int i = 0; i < n; i++) {
+            array[i] = random.nextInt();
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            int[] expected = new int[n];
+            ArrayDeque<int[]> deque = new ArrayDeque<>();
+            for (int i = 0; i < n; i++) {
+                int value = array[i];
+                while (!deque.isEmpty() && (deque.peekLast()[0] > value)) {
+                    deque.pollLast();
+                }
+                deque.offerLast(new int[]{value, i});
+                while (!deque.isEmpty() && (deque.peekFirst()[1] <= i - window)) {
+                    deque.pollFirst();
+                }
+                expected[i] = deque.peekFirst()[0];
+            }
+
+            long t1 = System.nanoTime();
+            int[] streaming = new int[n];
+            SlidingWindow sliding = min(window);
+            for (int i = 0; i < n; i++) {
+                streaming[i] = sliding.push(array[i]);
+            }
+
+            long t2 = System.nanoTime();
+            int[] blocked = blockMinimums(array, window, pool);
+            long t3 = System.nanoTime();
+
+            System.out.printf("ArrayDeque<int[]> %d ms, ring buffer %d ms, van Herk/Gil-Werman %d ms, same=%b%n",
+                    (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, (t3 - t2) / 1_000_000,
+                    Arrays.equals(expected, streaming) && Arrays.equals(expected, blocked));
+        }
+    }
+}
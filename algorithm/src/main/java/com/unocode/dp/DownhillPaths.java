@@ -0,0 +1,134 @@
+package com.unocode.dp;
+
+import com.unocode.graph.PaddedGrid;
+import com.unocode.sorting.IntKeySort;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// 내리막 경로 수(Q1520)의 반복 DP - 재귀 없음
+// 이동은 항상 더 낮은 칸으로만 가므로 높이 내림차순이 위상 순서다.
+// 1. 칸을 평탄 배열 index(row * cols + col)로 두고 높이로 정렬 (IntKeySort: 범위가 작으면 counting sort)
+// 2. 높은 칸부터 ways[cell]을 더 낮은 이웃에 더해 준다. (push 방식)
+// 출발 칸보다 높은 칸은 ways가 0이라 건너뛴다.
+// mod > 0 이면 경로 수를 mod로 나눈 나머지로 유지한다. (4000 x 4000 같은 격자에서는 long도 넘칠 수 있다)
+// 테두리를 두른 PaddedGrid 판(count(PaddedGrid, ...))은 범위 검사 없이 이웃 offset만 더한다. (Q1520)
+public class DownhillPaths {
+
+    static final long MOD = 1_000_000_007L;
+
+    static long count(int[] height, int rows, int cols, long mod) {
+        if (rows <= 0 || cols <= 0 || height.length < rows * cols) {
+            throw new IllegalArgumentException("grid must be rows * cols: " + rows + " x " + cols);
+        }
+        int n = rows * cols;
+        int[] order = IntKeySort.sortOrder(height, n);
+        long[] ways = new long[n];
+        ways[0] = 1;
+
+        for (int t = n - 1; t >= 0; t--) {
+            int cell = order[t];
+            long w = ways[cell];
+            if (w == 0) continue;
+
+            int h = height[cell];
+            int row = cell / cols;
+            int col = cell - row * cols;
+            if (row > 0 && height[cell - cols] < h) ways[cell - cols] = add(ways[cell - cols], w, mod);
+            if (row + 1 < rows && height[cell + cols] < h) ways[cell + cols] = add(ways[cell + cols], w, mod);
+            if (col > 0 && height[cell - 1] < h) ways[cell - 1] = add(ways[cell - 1], w, mod);
+            if (col + 1 < cols && height[cell + 1] < h) ways[cell + 1] = add(ways[cell + 1], w, mod);
+        }
+        return ways[n - 1];
+    }
+
+    // 칸 값이 높이인 PaddedGrid에서 source부터의 경로 수. 결과 배열은 padded index를 쓴다.
+    // 테두리 sentinel은 Integer.MAX_VALUE 여야 한다. (어떤 칸보다도 낮지 않음)
+    static long[] count(PaddedGrid grid, int source, long mod) {
+        if (grid.sentinel() != Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("border sentinel must be Integer.MAX_VALUE for downhill DP: " + grid.sentinel());
+        }
+        int rows = grid.rows;
+        int cols = grid.cols;
+        int[] cells = grid.cells;
+        int[] neighbors = grid.neighbors;
+        // 테두리를 뺀 칸만 모아 정렬하고, 압축 번호 p는 padded index로 되돌린다. (행마다 테두리 2칸씩 밀림)
+        int n = rows * cols;
+        int[] heights = new int[n];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(cells, grid.index(r, 0), heights, r * cols, cols);
+        }
+        int[] order = IntKeySort.sortOrder(heights, n);
+
+        long[] ways = new long[cells.length];
+        ways[source] = 1;
+        for (int t = n - 1; t >= 0; t--) {
+            int p = order[t];
+            int cur = p + grid.width + 1 + 2 * (p / cols);
+            long w = ways[cur];
+            if (w == 0) continue;
+            int h = cells[cur];
+            for (int offset : neighbors) {
+                int next = cur + offset;
+                if (cells[next] < h) ways[next] = add(ways[next], w, mod);
+            }
+        }
+        return ways;
+    }
+
+    static long add(long a, long b, long mod) {
+        if (mod <= 0) return a + b;
+        long sum = a + b;
+        return sum >= mod ? sum - mod : sum;
+    }
+
+    // Q1520의 재귀 dfs와 비교 (재귀는 스택이 큰 스레드에서 500 x 500 까지만), 이후 4000 x 4000
+    public static void main(String[] args) throws InterruptedException {
+        Random random = new Random(1520);
+        int[] sizes = {500, 1000, 4000};
+        for (int size : sizes) {
+            int rows = size;
+            int cols = size;
+            // 오른쪽 아래로 한 칸마다 8씩 낮아지는 지형 + 0 ~ 9 잡음 -> 일부 칸은 막히고 경로는 매우 많다.
+            int[] height = new int[rows * cols];
+            int[][] map = new int[rows][cols];
+            PaddedGrid grid = new PaddedGrid(rows, cols, Integer.MAX_VALUE);
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    int h = 8 * (rows + cols - i - j) - random.nextInt(10);
+                    height[i * cols + j] = h;
+                    map[i][j] = h;
+                    grid.set(i, j, h);
+                }
+            }
+
+            long[] recursive = {-1};
+            long t0 = System.nanoTime();
+            if (size <= 500) {
+                Thread thread = new Thread(null, () -> {
+                    Q1520.rowNumber = rows;
+                    Q1520.colNumber = cols;
+                    Q1520.map = map;
+                    Q1520.dfsResult = new int[rows][cols];
+                    for (int[] row : Q1520.dfsResult) Arrays.fill(row, -1);
+                    Q1520.dfsResult[rows - 1][cols - 1] = 1;
+                    recursive[0] = Q1520.dfs(0, 0);
+                }, "dfs", 1L << 30);
+                thread.start();
+                thread.join();
+            }
+            long t1 = System.nanoTime();
+            long iterative = count(height, rows, cols, MOD);
+            long t2 = System.nanoTime();
+            long padded = count(grid, grid.index(0, 0), MOD)[grid.index(rows - 1, cols - 1)];
+            long t3 = System.nanoTime();
+
+            // 재귀 dfs는 int 덧셈이라 넘치면 2^32로 감기므로, mod 없이 센 long 값의 하위 32비트와 비교한다.
+            long plain = size <= 500 ? count(height, rows, cols, 0) : -1;
+            System.out.printf("%dx%d recursive %s, iterative %d ms, padded %d ms, paths mod %d = %d same=%s padded same=%b%n",
+                    rows, cols, recursive[0] == -1 ? "skipped" : (t1 - t0) / 1_000_000 + " ms",
+                    (t2 - t1) / 1_000_000, (t3 - t2) / 1_000_000, MOD, iterative,
+                    recursive[0] == -1 ? "-" : String.valueOf((int) plain == (int) recursive[0]), padded == iterative);
+        }
+    }
+}
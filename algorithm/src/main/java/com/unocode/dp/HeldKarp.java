@@ -0,0 +1,145 @@
+package com.unocode.dp;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// 외판원 순회(Q2098)의 bottom-up Held-Karp
+// - 출발 도시 0은 항상 방문 상태이므로 부분집합에서 뺀다: 도시 1..N-1 의 부분집합 S (2^(N-1)개)
+//   -> Q2098의 int[N][1 << N] 대비 메모리가 절반 이하, N = 20 에서 2^19 * 19 int = 약 40MB
+//   (Q2098의 비용은 최대 1,000,000 이라 경로 합이 short 범위를 넘으므로 값은 int로 유지)
+// - dp는 mask-major 평탄 배열: dp[S * M + (j - 1)] = 0에서 출발해 S를 모두 돌고 j에서 끝나는 최소 비용
+//   같은 S의 도시들이 연속 메모리에 있어 캐시 친화적이다.
+// - popcount 층 순서로 계산하고, 한 층 안의 S는 서로 독립이라 fork-join으로 나눠 채운다. (pull 방식)
+// cost[i][j] == 0 은 길이 없음 (Q2098과 동일), 순회가 불가능하면 INF
+public class HeldKarp {
+
+    static final int INF = 1_000_000_000;
+    static final int MASKS_PER_TASK = 256;
+
+    static int solve(int[][] cost, ForkJoinPool pool) {
+        int n = cost.length;
+        if (n == 1) return 0;
+
+        int m = n - 1;
+        int subsets = 1 << m;
+        int[] dp = new int[subsets * m];
+        Arrays.fill(dp, INF);
+
+        for (int j = 1; j < n; j++) {
+            if (cost[0][j] != 0) dp[(1 << (j - 1)) * m + (j - 1)] = cost[0][j];
+        }
+
+        int[] layer = new int[binomialMax(m)];
+        for (int size = 2; size <= m; size++) {
+            int count = 0;
+            // Gosper's hack: popcount가 size인 mask를 오름차순으로 나열
+            for (int mask = (1 << size) - 1; mask < subsets; ) {
+                layer[count++] = mask;
+                int c = mask & -mask;
+                int r = mask + c;
+                mask = (((r ^ mask) >>> 2) / c) | r;
+            }
+            pool.invoke(new LayerTask(cost, dp, m, layer, 0, count));
+        }
+
+        int full = subsets - 1;
+        int best = INF;
+        for (int j = 1; j < n; j++) {
+            int value = dp[full * m + (j - 1)];
+            if (value < INF && cost[j][0] != 0) best = Math.min(best, value + cost[j][0]);
+        }
+        return best;
+    }
+
+    static int binomialMax(int m) {
+        long c = 1;
+        for (int i = 0; i < m / 2; i++) {
+            c = c * (m - i) / (i + 1);
+        }
+        return (int) c;
+    }
+
+    static class LayerTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int[][] cost;
+        final int[] dp;
+        final int m;
+        final int[] layer;
+        final int from;
+        final int to;
+
+        LayerTask(int[][] cost, int[] dp, int m, int[] layer, int from, int to) {
+            this.cost = cost;
+            this.dp = dp;
+            this.m = m;
+            this.layer = layer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MASKS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LayerTask(cost, dp, m, layer, from, mid), new LayerTask(cost, dp, m, layer, mid, to));
+                return;
+            }
+
+            for (int t = from; t < to; t++) {
+                int mask = layer[t];
+                int base = mask * m;
+                // 끝 도시 j: S에서 j를 뺀 집합의 끝 도시 k에서 j로 온다.
+                for (int rest = mask; rest != 0; rest &= rest - 1) {
+                    int j = Integer.numberOfTrailingZeros(rest);
+                    int previous = (mask ^ (1 << j)) * m;
+                    int best = INF;
+                    for (int others = mask ^ (1 << j); others != 0; others &= others - 1) {
+                        int k = Integer.numberOfTrailingZeros(others);
+                        int value = dp[previous + k];
+                        if (value >= best) continue;
+                        int edge = cost[k + 1][j + 1];
+                        if (edge == 0) continue;
+                        if (value + edge < best) best = value + edge;
+                    }
+                    dp[base + j] = best;
+                }
+            }
+        }
+    }
+
+    // Q2098의 재귀 메모이제이션과 비교 (N = 16 ~ 20)
+    public static void main(String[] args) {
+        Random random = new Random(2098);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int n = 16; n <= 20; n++) {
+            int[][] cost = new int[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (i != j && random.nextInt(10) != 0) cost[i][j] = random.nextInt(1_000_000) + 1;
+                }
+            }
+
+            long recursive = -1;
+            long t0 = System.nanoTime();
+            if (n <= 18) {
+                Q2098.N = n;
+                Q2098.cost = cost;
+                Q2098.allVisited = (1 << n) - 1;
+                Q2098.dp = new int[n][1 << n];
+                for (int[] row : Q2098.dp) Arrays.fill(row, -1);
+                recursive = Q2098.tsp(0, 1);
+            }
+            long t1 = System.nanoTime();
+            int bottomUp = solve(cost, pool);
+            long t2 = System.nanoTime();
+
+            System.out.printf("N=%d recursive %s, bottom-up %d ms (parallelism %d), answer=%d same=%s%n",
+                    n, recursive == -1 ? "skipped" : (t1 - t0) / 1_000_000 + " ms",
+                    (t2 - t1) / 1_000_000, pool.getParallelism(), bottomUp,
+                    recursive == -1 ? "-" : String.valueOf(recursive == bottomUp));
+        }
+    }
+}
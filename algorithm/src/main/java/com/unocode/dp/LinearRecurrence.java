@@ -0,0 +1,113 @@
+package com.unocode.dp;
+
+import java.util.Arrays;
+
+// k항 선형 점화식 a(n) = c1*a(n-1) + c2*a(n-2) + ... + ck*a(n-k)  (mod m) 의 n번째 항
+// Kitamasa: x^n 을 특성 다항식 x^k - c1*x^(k-1) - ... - ck 로 나눈 나머지 r(x)를 구하면
+//           a(n) = r0*a(0) + r1*a(1) + ... + r(k-1)*a(k-1).  O(k^2 log n)
+// n은 long (최대 약 1e18), 곱셈용 버퍼는 생성 시 한 번만 만들어 반복 중에는 할당하지 않는다.
+// 버퍼를 공유하므로 인스턴스 하나를 여러 스레드에서 동시에 쓰면 안 된다.
+public class LinearRecurrence {
+
+    final int k;
+    final long mod;
+    final long[] coefficients; // c1..ck
+    final long[] initial;      // a(0)..a(k-1)
+
+    final long[] result;
+    final long[] base;
+    final long[] product;
+
+    LinearRecurrence(long[] coefficients, long[] initial, long mod) {
+        if (coefficients.length == 0 || coefficients.length != initial.length) {
+            throw new IllegalArgumentException("coefficients and initial terms must have the same positive length");
+        }
+        if (mod <= 1 || mod > Integer.MAX_VALUE) {
+            // 두 나머지의 곱이 long 안에 들어가도록 mod < 2^31
+            throw new IllegalArgumentException("mod must be in (1, 2^31): " + mod);
+        }
+        this.k = coefficients.length;
+        this.mod = mod;
+        this.coefficients = new long[k];
+        this.initial = new long[k];
+        for (int i = 0; i < k; i++) {
+            this.coefficients[i] = Math.floorMod(coefficients[i], mod);
+            this.initial[i] = Math.floorMod(initial[i], mod);
+        }
+        this.result = new long[k];
+        this.base = new long[k];
+        this.product = new long[2 * k - 1];
+    }
+
+    long term(long n) {
+        if (n < 0) throw new IllegalArgumentException("n must be non-negative: " + n);
+        if (n < k) return initial[(int) n];
+
+        // result = 1, base = x  (k == 1 이면 x = c1 로 바로 줄어든다)
+        Arrays.fill(result, 0);
+        Arrays.fill(base, 0);
+        result[0] = 1;
+        if (k == 1) {
+            base[0] = coefficients[0];
+        } else {
+            base[1] = 1;
+        }
+
+        for (long e = n; e > 0; e >>= 1) {
+            if ((e & 1) == 1) multiply(result, base, result);
+            if (e > 1) multiply(base, base, base);
+        }
+
+        long value = 0;
+        for (int i = 0; i < k; i++) {
+            value = (value + result[i] * initial[i]) % mod;
+        }
+        return value;
+    }
+
+    // out = a * b mod (특성 다항식). out은 a 또는 b와 같은 배열이어도 된다.
+    void multiply(long[] a, long[] b, long[] out) {
+        Arrays.fill(product, 0);
+        for (int i = 0; i < k; i++) {
+            if (a[i] == 0) continue;
+            for (int j = 0; j < k; j++) {
+                product[i + j] = (product[i + j] + a[i] * b[j]) % mod;
+            }
+        }
+        // 높은 차수부터 x^d = c1*x^(d-1) + ... + ck*x^(d-k) 로 내린다.
+        for (int d = 2 * k - 2; d >= k; d--) {
+            long top = product[d];
+            if (top == 0) continue;
+            for (int i = 0; i < k; i++) {
+                product[d - 1 - i] = (product[d - 1 - i] + top * coefficients[i]) % mod;
+            }
+        }
+        System.arraycopy(product, 0, out, 0, k);
+    }
+
+    // Q1904의 선형 반복과 비교, 선형 반복이 불가능한 N = 1e18 까지
+    public static void main(String[] args) {
+        LinearRecurrence tiles = new LinearRecurrence(new long[]{1, 1}, new long[]{1, 1}, Q1904.MOD);
+        long[] sizes = {1_000_000L, 100_000_000L, 1_000_000_000L, 1_000_000_000_000_000_000L};
+        for (long n : sizes) {
+            long linear = -1;
+            long t0 = System.nanoTime();
+            if (n <= 1_000_000_000L) {
+                int prev1 = 1;
+                int prev2 = 1;
+                for (long i = 2; i <= n; i++) {
+                    int cur = (prev1 + prev2) % Q1904.MOD;
+                    prev1 = prev2;
+                    prev2 = cur;
+                }
+                linear = prev2;
+            }
+            long t1 = System.nanoTime();
+            long fast = tiles.term(n);
+            long t2 = System.nanoTime();
+            System.out.printf("N=%d loop %s, Kitamasa %d us, value=%d same=%s%n",
+                    n, linear == -1 ? "skipped" : (t1 - t0) / 1_000_000 + " ms", (t2 - t1) / 1_000,
+                    fast, linear == -1 ? "-" : String.valueOf(linear == fast));
+        }
+    }
+}
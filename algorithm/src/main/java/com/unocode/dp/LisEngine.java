@@ -0,0 +1,138 @@
+package com.unocode.dp;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Stack;
+
+// 최장 증가 부분 수열(LIS)을 스트림으로 처리하는 엔진 - O(N log N)
+// 값을 하나씩 push 하면 Q14003.lowerBound로 tails(길이별 가장 작은 끝값)에서 위치를 찾고,
+// 복원용 부모 index는 primitive int[]에 저장한다. 복원은 Stack 없이 결과 int[]를 뒤에서부터 채운다.
+// strict = true  : 증가 (a < b)
+// strict = false : 감소하지 않음 (a <= b), 같은 값은 upper bound 위치에 붙인다.
+public class LisEngine {
+
+    final boolean strict;
+    int[] values;
+    int[] parent;
+    int[] tails;
+    int[] tailIndex;
+    int count;
+    int length;
+
+    LisEngine(boolean strict) {
+        this(strict, 16);
+    }
+
+    LisEngine(boolean strict, int expectedSize) {
+        this.strict = strict;
+        int capacity = Math.max(expectedSize, 1);
+        values = new int[capacity];
+        parent = new int[capacity];
+        tails = new int[capacity];
+        tailIndex = new int[capacity];
+    }
+
+    void push(int value) {
+        if (count == values.length) {
+            int capacity = count * 2;
+            values = Arrays.copyOf(values, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            tails = Arrays.copyOf(tails, capacity);
+            tailIndex = Arrays.copyOf(tailIndex, capacity);
+        }
+
+        int position;
+        if (strict) {
+            position = Q14003.lowerBound(value, tails, length);
+        } else {
+            // value 이하가 끝나는 첫 위치 = value + 1의 lower bound
+            position = value == Integer.MAX_VALUE ? length : Q14003.lowerBound(value + 1, tails, length);
+        }
+
+        int i = count++;
+        values[i] = value;
+        parent[i] = position > 0 ? tailIndex[position - 1] : -1;
+        tails[position] = value;
+        tailIndex[position] = i;
+        if (position == length) length++;
+    }
+
+    int length() {
+        return length;
+    }
+
+    // 실제 부분 수열 하나 (앞에서부터)
+    int[] sequence() {
+        int[] result = new int[length];
+        int idx = length == 0 ? -1 : tailIndex[length - 1];
+        for (int p = length - 1; p >= 0; p--) {
+            result[p] = values[idx];
+            idx = parent[idx];
+        }
+        return result;
+    }
+
+    void reset() {
+        count = 0;
+        length = 0;
+    }
+
+    // Q14002의 O(N^2) DP, Q14003의 Stack 복원, 엔진 비교
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 50_000, 1_000_000};
+        Random random = new Random(14003);
+        for (int n : sizes) {
+            int[] array = new int[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = random.nextInt(2_000_000_001) - 1_000_000_000;
+            }
+
+            long quadratic = -1;
+            long t0 = System.nanoTime();
+            if (n <= 50_000) {
+                int[] longest = new int[n];
+                int best = 0;
+                for (int j = 0; j < n; j++) {
+                    longest[j] = 1;
+                    for (int k = 0; k < j; k++) {
+                        if (array[j] > array[k] && longest[k] + 1 > longest[j]) longest[j] = longest[k] + 1;
+                    }
+                    best = Math.max(best, longest[j]);
+                }
+                quadratic = best;
+            }
+
+            long t1 = System.nanoTime();
+            int[] lis = new int[n];
+            int[] lisIndex = new int[n];
+            int[] beforeIndex = new int[n];
+            int lisLength = 0;
+            for (int j = 0; j < n; j++) {
+                int position = Q14003.lowerBound(array[j], lis, lisLength);
+                lis[position] = array[j];
+                lisIndex[position] = j;
+                beforeIndex[j] = position > 0 ? lisIndex[position - 1] : -1;
+                if (position == lisLength) lisLength++;
+            }
+            Stack<Integer> stack = new Stack<>();
+            for (int idx = lisIndex[lisLength - 1]; idx != -1; idx = beforeIndex[idx]) {
+                stack.push(array[idx]);
+            }
+            int[] fromStack = new int[stack.size()];
+            for (int p = 0; !stack.isEmpty(); p++) fromStack[p] = stack.pop();
+
+            long t2 = System.nanoTime();
+            LisEngine engine = new LisEngine(true, n);
+            for (int value : array) {
+                engine.push(value);
+            }
+            int[] sequence = engine.sequence();
+            long t3 = System.nanoTime();
+
+            System.out.printf("n=%d O(N^2) %s, Stack %d ms, engine %d ms, length=%d same=%b%n",
+                    n, quadratic == -1 ? "skipped" : (t1 - t0) / 1_000_000 + " ms",
+                    (t2 - t1) / 1_000_000, (t3 - t2) / 1_000_000, sequence.length,
+                    Arrays.equals(fromStack, sequence) && (quadratic == -1 || quadratic == sequence.length));
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.unocode.dp;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.Stack;
 import java.util.StringTokenizer;
 
 //https://www.acmicpc.net/problem/14002
@@ -18,10 +17,24 @@ public class Q14002 {
     public static void main(String[] args) throws IOException {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         int length = Integer.parseInt(br.readLine());
+        StringTokenizer st = new StringTokenizer(br.readLine(), " ");
+
+        // O(N^2) DP 대신 O(N log N) LisEngine으로 길이와 수열을 구한다.
+        LisEngine engine = new LisEngine(true, length);
+        for (int i = 0 ; i < length ; i++) {
+            engine.push(Integer.parseInt(st.nextToken()));
+        }
+        System.out.println(engine.length());
+        StringBuilder sb = new StringBuilder();
+        for (int value : engine.sequence()) {
+            sb.append(value).append(" ");
+        }
+        System.out.println(sb);
+
+        /*
         array = new int[length];
         longestLengthArray = new int[length];
         beforeIndex = new int[length];
-        StringTokenizer st = new StringTokenizer(br.readLine(), " ");
         for (int i = 0 ; i < length ; i++) {
             array[i] = Integer.parseInt(st.nextToken());
             longestLengthArray[i] = 1;
@@ -48,10 +61,11 @@ public class Q14002 {
             tempIndex = beforeIndex[tempIndex];
         }
         System.out.println(longestLength);
-        StringBuilder sb = new StringBuilder();
+        sb = new StringBuilder();
         while (!resultStack.isEmpty()) {
             sb.append(resultStack.pop()).append(" ");
         }
         System.out.println(sb);
+        */
     }
 }
@@ -1,5 +1,7 @@
 package com.unocode.dp;
 
+import com.unocode.graph.PaddedGrid;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -20,6 +22,18 @@ public class Q1520 {
         rowNumber = Integer.parseInt(st.nextToken());
         colNumber = Integer.parseInt(st.nextToken());
 
+        // 테두리를 두른 평탄 격자로 읽고 높이 순서 반복 DP로 센다. (DownhillPaths, 답은 10억 이하라 mod 없음)
+        PaddedGrid grid = new PaddedGrid(rowNumber, colNumber, Integer.MAX_VALUE);
+        for (int i = 0 ; i < rowNumber ; i++) {
+            st = new StringTokenizer(br.readLine(), " ");
+            for (int j = 0 ; j < colNumber ; j++) {
+                grid.set(i, j, Integer.parseInt(st.nextToken()));
+            }
+        }
+        long[] ways = DownhillPaths.count(grid, grid.index(0, 0), 0);
+        System.out.println(ways[grid.index(rowNumber - 1, colNumber - 1)]);
+
+        /*
         map = new int[rowNumber][colNumber];
         dfsResult = new int[rowNumber][colNumber];
         for (int i = 0 ; i < rowNumber ; i++) {
@@ -31,6 +45,7 @@ public class Q1520 {
         }
         dfsResult[rowNumber-1][colNumber-1] = 1;
         System.out.println(dfs(0,0));
+        */
     }
 
     static int dfs(int row, int col) {
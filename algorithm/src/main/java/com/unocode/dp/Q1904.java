@@ -10,8 +10,13 @@ public class Q1904 {
 
     public static void main(String[] args) throws IOException {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        int length = Integer.parseInt(br.readLine());
+        long length = Long.parseLong(br.readLine().trim());
 
+        // a(n) = a(n-1) + a(n-2), a(0) = 1, a(1) = 1 -> 선형 반복 대신 LinearRecurrence(O(log N))로 계산
+        LinearRecurrence tiles = new LinearRecurrence(new long[]{1, 1}, new long[]{1, 1}, MOD);
+        System.out.print(tiles.term(length));
+
+        /*
         if (length == 1) {
             System.out.print(1);
             return;
@@ -30,5 +35,6 @@ public class Q1904 {
             prev2 = cur;
         }
         System.out.print(prev2);
+        */
     }
 }
@@ -2,6 +2,7 @@ package com.unocode.dp;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class Q2098 {
 
@@ -15,25 +16,20 @@ public class Q2098 {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         N = Integer.parseInt(br.readLine());
         cost = new int[N][N];
-        dp = new int[N][1 << N];
-        allVisited = (1 << N) - 1;
         StringTokenizer st;
 
         for (int i = 0 ; i < N ; i++) {
-            Arrays.fill(dp[i], -1);
             st = new StringTokenizer(br.readLine());
             for (int j = 0 ; j < N ; j++) {
                 cost[i][j] = Integer.parseInt(st.nextToken());
             }
         }
 
-        System.out.println(tsp(0, 1));
-
-
+        // 재귀 tsp 대신 popcount 층 단위 bottom-up Held-Karp (mask-major 배열, 층별 병렬)
+        System.out.println(HeldKarp.solve(cost, ForkJoinPool.commonPool()));
     }
 
-
-
+    // 기존 top-down 재귀 (HeldKarp 비교용, dp/allVisited를 직접 세팅해서 호출)
     static int tsp(int cur, int visited) {
         if (visited == allVisited) {
             if (cost[cur][0] != 0) return cost[cur][0];
@@ -0,0 +1,349 @@
+package com.unocode.dp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// 도시가 수백 ~ 수천 개라 HeldKarp(정확해, O(2^N N^2))를 쓸 수 없을 때의 휴리스틱 순회
+// 입력은 Q2098과 같은 비용 행렬 (cost[i][j] == 0 이면 길 없음 -> 큰 벌점으로 취급)
+// 1. nearest-neighbor 로 초기 순회 생성
+// 2. 2-opt / Or-opt(길이 1~3 구간 이동)로 개선. 후보는 도시별 가까운 K개(neighbor list)만 보고,
+//    개선이 없던 도시는 don't-look bit로 건너뛴다.
+// 3. 시작 도시를 바꿔 여러 번 병렬로 돌리고 가장 짧은 순회를 고른다. (multi-start)
+// 2-opt는 구간을 뒤집으므로 대칭 비용(cost[i][j] == cost[j][i])을 가정한다. 반환 비용은 실제 행렬로 다시 계산한다.
+public class TourOptimizer {
+
+    static final int NEIGHBORS = 10;
+    static final int MAX_SEGMENT = 3;
+    // 길 없음 벌점. 순회 합은 long으로 계산한다.
+    static final long MISSING_EDGE = 1_000_000_000L;
+
+    final int[][] cost;
+    final int n;
+    final int[][] neighbors;
+
+    TourOptimizer(int[][] cost) {
+        this.cost = cost;
+        this.n = cost.length;
+        this.neighbors = buildNeighbors();
+    }
+
+    long distance(int a, int b) {
+        int c = cost[a][b];
+        return c == 0 && a != b ? MISSING_EDGE : c;
+    }
+
+    long tourCost(int[] tour) {
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += distance(tour[i], tour[(i + 1) % n]);
+        }
+        return total;
+    }
+
+    // (거리 << 20 | 도시)를 정렬해 가까운 K개를 뽑는다.
+    int[][] buildNeighbors() {
+        int k = Math.min(NEIGHBORS, n - 1);
+        int[][] result = new int[n][k];
+        long[] keys = new long[n - 1];
+        for (int a = 0; a < n; a++) {
+            int p = 0;
+            for (int b = 0; b < n; b++) {
+                if (b != a) keys[p++] = (distance(a, b) << 20) | b;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < k; i++) {
+                result[a][i] = (int) (keys[i] & ((1 << 20) - 1));
+            }
+        }
+        return result;
+    }
+
+    // 여러 시작 도시에서 병렬로 최적화하고 가장 좋은 순회(도시 0에서 시작하도록 회전)를 돌려준다.
+    int[] solve(int starts, ForkJoinPool pool) {
+        if (n <= 3) {
+            int[] tour = new int[n];
+            for (int i = 0; i < n; i++) tour[i] = i;
+            return tour;
+        }
+
+        List<Callable<int[]>> tasks = new ArrayList<>();
+        Random random = new Random(n);
+        for (int s = 0; s < starts; s++) {
+            int start = s == 0 ? 0 : random.nextInt(n);
+            tasks.add(() -> new Search(nearestNeighbor(start)).optimize());
+        }
+
+        int[] best = null;
+        long bestCost = Long.MAX_VALUE;
+        for (Future<int[]> future : pool.invokeAll(tasks)) {
+            int[] tour;
+            try {
+                tour = future.get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            long c = tourCost(tour);
+            if (c < bestCost) {
+                bestCost = c;
+                best = tour;
+            }
+        }
+        return rotateToZero(best);
+    }
+
+    int[] nearestNeighbor(int start) {
+        int[] tour = new int[n];
+        boolean[] used = new boolean[n];
+        tour[0] = start;
+        used[start] = true;
+        for (int i = 1; i < n; i++) {
+            int cur = tour[i - 1];
+            int next = -1;
+            // 가까운 후보부터 보고, 모두 사용 중이면 전체를 훑는다.
+            for (int candidate : neighbors[cur]) {
+                if (!used[candidate]) {
+                    next = candidate;
+                    break;
+                }
+            }
+            if (next == -1) {
+                long best = Long.MAX_VALUE;
+                for (int c = 0; c < n; c++) {
+                    if (!used[c] && distance(cur, c) < best) {
+                        best = distance(cur, c);
+                        next = c;
+                    }
+                }
+            }
+            tour[i] = next;
+            used[next] = true;
+        }
+        return tour;
+    }
+
+    int[] rotateToZero(int[] tour) {
+        int[] result = new int[n];
+        int offset = 0;
+        while (tour[offset] != 0) offset++;
+        for (int i = 0; i < n; i++) {
+            result[i] = tour[(offset + i) % n];
+        }
+        return result;
+    }
+
+    // 시작 하나에 대한 지역 탐색 상태. tour[위치] = 도시, position[도시] = 위치
+    class Search {
+        final int[] tour;
+        final int[] position = new int[n];
+        // don't-look bit가 꺼진(다시 볼) 도시의 큐
+        final int[] queue = new int[n];
+        final boolean[] queued = new boolean[n];
+        int head;
+        int size;
+
+        Search(int[] tour) {
+            this.tour = tour;
+            for (int i = 0; i < n; i++) position[tour[i]] = i;
+        }
+
+        // 2-opt와 Or-opt가 같은 don't-look 큐를 쓴다. 큐가 비면 더 개선할 도시가 없다.
+        int[] optimize() {
+            for (int c = 0; c < n; c++) push(c);
+            while (size > 0) {
+                int city = pop();
+                if (!twoOpt(city)) orOpt(city);
+            }
+            return tour;
+        }
+
+        int next(int city) {
+            int p = position[city] + 1;
+            return tour[p == n ? 0 : p];
+        }
+
+        int prev(int city) {
+            int p = position[city] - 1;
+            return tour[p < 0 ? n - 1 : p];
+        }
+
+        void push(int city) {
+            if (queued[city]) return;
+            queued[city] = true;
+            queue[(head + size) % n] = city;
+            size++;
+        }
+
+        int pop() {
+            int city = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[city] = false;
+            return city;
+        }
+
+        boolean twoOpt(int a) {
+            // a -> succ 간선을 a -> c 로 바꾸는 경우
+            int b = next(a);
+            long ab = distance(a, b);
+            for (int c : neighbors[a]) {
+                long ac = distance(a, c);
+                if (ac >= ab) break;
+                int d = next(c);
+                if (c == b || d == a) continue;
+                long delta = ac + distance(b, d) - ab - distance(c, d);
+                if (delta < 0) {
+                    reverse(position[b], position[c]);
+                    push(a);
+                    push(b);
+                    push(c);
+                    push(d);
+                    return true;
+                }
+            }
+
+            // pred -> a 간선을 c -> a 로 바꾸는 경우
+            b = prev(a);
+            ab = distance(b, a);
+            for (int c : neighbors[a]) {
+                long ac = distance(c, a);
+                if (ac >= ab) break;
+                int d = prev(c);
+                if (c == b || d == a) continue;
+                long delta = ac + distance(d, b) - ab - distance(d, c);
+                if (delta < 0) {
+                    reverse(position[a], position[d]);
+                    push(a);
+                    push(b);
+                    push(c);
+                    push(d);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 위치 from..to (순환) 구간을 뒤집는다. 짧은 쪽을 뒤집어도 같은 순회다.
+        void reverse(int from, int to) {
+            int length = ((to - from + n) % n) + 1;
+            if (length * 2 > n) {
+                int newFrom = (to + 1) % n;
+                to = (from - 1 + n) % n;
+                from = newFrom;
+                length = n - length;
+            }
+            for (int k = 0; k < length / 2; k++) {
+                int i = (from + k) % n;
+                int j = (to - k + n) % n;
+                int ci = tour[i];
+                int cj = tour[j];
+                tour[i] = cj;
+                tour[j] = ci;
+                position[cj] = i;
+                position[ci] = j;
+            }
+        }
+
+        // a에서 시작하는 길이 1~3 구간을 떼어 가까운 도시 옆(정방향/역방향)에 끼운다. 개선되면 관련 도시를 큐에 다시 넣는다.
+        boolean orOpt(int a) {
+            int last = a;
+            for (int length = 1; length <= MAX_SEGMENT && length < n - 2; length++, last = next(last)) {
+                int first = a;
+                int p = prev(first);
+                int nx = next(last);
+                long removeGain = distance(p, first) + distance(last, nx) - distance(p, nx);
+
+                for (int end = 0; end < 2; end++) {
+                    int anchor = end == 0 ? first : last;
+                    for (int c : neighbors[anchor]) {
+                        if (inSegment(c, first, length) || c == p) continue;
+                        int cn = next(c);
+                        if (inSegment(cn, first, length)) continue;
+                        long base = distance(c, cn);
+                        long forward = distance(c, first) + distance(last, cn) - base;
+                        long backward = distance(c, last) + distance(first, cn) - base;
+                        if (forward < removeGain || backward < removeGain) {
+                            moveSegment(first, last, p, nx, c, cn, backward < forward);
+                            push(first);
+                            push(last);
+                            push(p);
+                            push(nx);
+                            push(c);
+                            push(cn);
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        boolean inSegment(int city, int first, int length) {
+            int offset = (position[city] - position[first] + n) % n;
+            return offset < length;
+        }
+
+        // p [first..last] nx ... c cn  ->  p nx ... c [first..last] cn
+        // 2-opt 뒤집기 세 번으로 제자리에서 옮긴다. (역방향으로 끼울 때는 두 번)
+        void moveSegment(int first, int last, int p, int nx, int c, int cn, boolean reversed) {
+            exchange(p, first, c, cn);      // p c ... nx last..first cn
+            exchange(p, c, nx, last);       // p nx ... c last..first cn
+            if (!reversed) {
+                exchange(c, last, first, cn); // p nx ... c first..last cn
+            }
+        }
+
+        // 간선 a-b, c-d 를 a-c, b-d 로 바꾼다. (b..c 경로 뒤집기)
+        // reverse가 짧은 쪽을 뒤집으면 방향이 바뀔 수 있으므로 현재 방향을 보고 위치를 고른다.
+        void exchange(int a, int b, int c, int d) {
+            if (next(a) == b) reverse(position[b], position[c]);
+            else reverse(position[c], position[b]);
+        }
+    }
+
+    // 작은 N에서는 HeldKarp 정답 대비 비율, N = 1000 에서는 실행 시간 측정 (무작위 평면 좌표, 대칭 비용)
+    public static void main(String[] args) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Random random = new Random(2098);
+        int starts = Math.max(4, pool.getParallelism() * 2);
+
+        for (int n : new int[]{10, 14, 18, 1000}) {
+            int[][] cost = randomEuclidean(n, random);
+            long t0 = System.nanoTime();
+            TourOptimizer optimizer = new TourOptimizer(cost);
+            int[] tour = optimizer.solve(starts, pool);
+            long heuristic = optimizer.tourCost(tour);
+            long t1 = System.nanoTime();
+
+            if (n <= 20) {
+                int exact = HeldKarp.solve(cost, pool);
+                System.out.printf("N=%d heuristic=%d exact=%d ratio=%.4f (%d ms)%n",
+                        n, heuristic, exact, (double) heuristic / exact, (t1 - t0) / 1_000_000);
+            } else {
+                long nearest = optimizer.tourCost(optimizer.nearestNeighbor(0));
+                System.out.printf("N=%d nearest-neighbor=%d optimized=%d (%.1f%% shorter) in %d ms with %d starts%n",
+                        n, nearest, heuristic, 100.0 * (nearest - heuristic) / nearest, (t1 - t0) / 1_000_000, starts);
+            }
+        }
+    }
+
+    static int[][] randomEuclidean(int n, Random random) {
+        int[] x = new int[n];
+        int[] y = new int[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextInt(10_000);
+            y[i] = random.nextInt(10_000);
+        }
+        int[][] cost = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j) cost[i][j] = (int) Math.round(Math.hypot(x[i] - x[j], y[i] - y[j])) + 1;
+            }
+        }
+        return cost;
+    }
+}
@@ -42,9 +42,14 @@ public class Q17386 {
     }
 
     static int ccw(Point p1, Point p2, Point p3) {
+        return ccw(p1.x, p1.y, p2.x, p2.y, p3.x, p3.y);
+    }
+
+    // 좌표 배열(SegmentSweep)에서 Point 객체 없이 쓰는 버전
+    static int ccw(long x1, long y1, long x2, long y2, long x3, long y3) {
         //외적으로 방향성을 구한다. 넓이는 필요 없음
-        long cross = (p2.x - p1.x) * (p3.y - p1.y)
-                - (p3.x - p1.x) * (p2.y - p1.y);
+        long cross = (x2 - x1) * (y3 - y1)
+                - (x3 - x1) * (y2 - y1);
         if (cross > 0) return 1;
         if (cross < 0) return -1;
         return 0;
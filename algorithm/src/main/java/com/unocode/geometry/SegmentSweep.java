@@ -0,0 +1,592 @@
+package com.unocode.geometry;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// 선분 n개의 교차를 sweep line으로 찾는다. 좌표는 long[] 배열로만 보관하고 방향 판정은 Q17386.ccw를 쓴다.
+// - anyIntersection : Shamos-Hoey, 교차가 하나라도 있는지 O(n log n). 모든 비교가 정수 ccw라 정확하다.
+// - allIntersections: Bentley-Ottmann, 교차하는 모든 쌍을 O((n + k) log n)에 보고한다.
+//   교차점 사건의 위치만 double로 계산하므로 세 개 이상의 선분이 한 점에서 만나는 등의 퇴화 입력에서는
+//   일부 쌍을 놓칠 수 있다. (일반 위치 가정, 쌍 판정 자체는 정수 연산)
+// 좌표 절댓값은 ccw의 외적이 long을 넘지 않도록 약 1e9 이하여야 한다.
+// sweep 상태(현재 x에서 아래 -> 위 순서)는 배열 기반 treap, 사건 큐는 primitive binary heap이다.
+public class SegmentSweep {
+
+    static final int LEFT = 0;
+    static final int CROSS = 1;
+    static final int RIGHT = 2;
+
+    final int n;
+    // 왼쪽(x가 작은, 같으면 y가 작은) 끝점이 (x1, y1)이 되도록 정규화해 둔다.
+    final long[] x1;
+    final long[] y1;
+    final long[] x2;
+    final long[] y2;
+
+    SegmentSweep(long[] ax, long[] ay, long[] bx, long[] by) {
+        this.n = ax.length;
+        this.x1 = new long[n];
+        this.y1 = new long[n];
+        this.x2 = new long[n];
+        this.y2 = new long[n];
+        for (int i = 0; i < n; i++) {
+            boolean swap = ax[i] > bx[i] || (ax[i] == bx[i] && ay[i] > by[i]);
+            x1[i] = swap ? bx[i] : ax[i];
+            y1[i] = swap ? by[i] : ay[i];
+            x2[i] = swap ? ax[i] : bx[i];
+            y2[i] = swap ? ay[i] : by[i];
+        }
+    }
+
+    // 두 선분이 만나는지 (끝점 접촉, 겹침 포함)
+    boolean intersects(int a, int b) {
+        int ccw1 = Q17386.ccw(x1[a], y1[a], x2[a], y2[a], x1[b], y1[b]);
+        int ccw2 = Q17386.ccw(x1[a], y1[a], x2[a], y2[a], x2[b], y2[b]);
+        int ccw3 = Q17386.ccw(x1[b], y1[b], x2[b], y2[b], x1[a], y1[a]);
+        int ccw4 = Q17386.ccw(x1[b], y1[b], x2[b], y2[b], x2[a], y2[a]);
+
+        // 네 ccw가 모두 0이어야 한 직선 위다. 길이 0인 선분은 ccw1 == ccw2 == 0 이 항상 성립하므로
+        // 두 개만 보면 다른 선분의 직선 밖에 있는 점도 겹침으로 잘못 판정한다.
+        if (ccw1 == 0 && ccw2 == 0 && ccw3 == 0 && ccw4 == 0) {
+            // 한 직선 위: 끝점 순서(x, y 사전순)로 구간이 겹치는지 본다.
+            return !(less(x2[a], y2[a], x1[b], y1[b]) || less(x2[b], y2[b], x1[a], y1[a]));
+        }
+        return ccw1 * ccw2 <= 0 && ccw3 * ccw4 <= 0;
+    }
+
+    static boolean less(long xa, long ya, long xb, long yb) {
+        return xa < xb || (xa == xb && ya < yb);
+    }
+
+    // Shamos-Hoey. 교차하는 쌍 하나를 (a << 32 | b)로, 없으면 -1
+    long anyIntersection() {
+        int[] events = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            events[2 * i] = i << 1;
+            events[2 * i + 1] = (i << 1) | 1;
+        }
+        // 끝점 순으로 정렬: 같은 점이면 왼쪽 끝점(삽입)을 먼저 처리해 접촉도 잡는다.
+        int[] order = sortEndpoints(events);
+
+        Status status = new Status(n);
+        for (int e : order) {
+            int s = e >>> 1;
+            if ((e & 1) == 0) {
+                int node = status.insert(s);
+                int above = status.next(node);
+                int below = status.prev(node);
+                if (above != -1 && intersects(s, status.segment[above])) return pair(s, status.segment[above]);
+                if (below != -1 && intersects(s, status.segment[below])) return pair(s, status.segment[below]);
+            } else {
+                int node = status.nodeOf[s];
+                int above = status.next(node);
+                int below = status.prev(node);
+                status.delete(node);
+                if (above != -1 && below != -1 && intersects(status.segment[below], status.segment[above])) {
+                    return pair(status.segment[below], status.segment[above]);
+                }
+            }
+        }
+        return -1;
+    }
+
+    // 끝점 사건(세그먼트 << 1 | 오른쪽 여부)을 (x, y, 왼쪽 먼저) 순으로 정렬
+    int[] sortEndpoints(int[] events) {
+        int[] order = events.clone();
+        // 좌표 범위가 넓어 하나의 long 키로 묶을 수 없으므로 index 배열을 병합 정렬한다.
+        int[] buffer = new int[order.length];
+        mergeSort(order, buffer, 0, order.length);
+        return order;
+    }
+
+    void mergeSort(int[] a, int[] buffer, int from, int to) {
+        if (to - from < 2) return;
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int v = a[i];
+                int j = i - 1;
+                while (j >= from && compareEndpoint(a[j], v) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, buffer, from, mid);
+        mergeSort(a, buffer, mid, to);
+        if (compareEndpoint(a[mid - 1], a[mid]) <= 0) return;
+        System.arraycopy(a, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compareEndpoint(buffer[i], buffer[j]) <= 0)) {
+                a[k] = buffer[i++];
+            } else {
+                a[k] = buffer[j++];
+            }
+        }
+    }
+
+    int compareEndpoint(int e, int f) {
+        int s = e >>> 1;
+        int t = f >>> 1;
+        long ex = (e & 1) == 0 ? x1[s] : x2[s];
+        long ey = (e & 1) == 0 ? y1[s] : y2[s];
+        long fx = (f & 1) == 0 ? x1[t] : x2[t];
+        long fy = (f & 1) == 0 ? y1[t] : y2[t];
+        if (ex != fx) return ex < fx ? -1 : 1;
+        if (ey != fy) return ey < fy ? -1 : 1;
+        return Integer.compare(e & 1, f & 1);
+    }
+
+    // Bentley-Ottmann. 교차하는 모든 쌍 (a << 32 | b, a < b)
+    long[] allIntersections() {
+        EventQueue queue = new EventQueue(2 * n);
+        for (int i = 0; i < n; i++) {
+            queue.push(x1[i], y1[i], LEFT, i, -1);
+            queue.push(x2[i], y2[i], RIGHT, i, -1);
+        }
+
+        Status status = new Status(n);
+        PairSet reported = new PairSet();
+
+        while (queue.size > 0) {
+            int e = queue.pop();
+            double cx = queue.x[e];
+            double cy = queue.y[e];
+            int type = queue.type[e];
+            int a = queue.a[e];
+
+            if (type == LEFT) {
+                int node = status.insert(a);
+                check(status.prevSegment(node), a, cx, cy, queue, reported);
+                check(a, status.nextSegment(node), cx, cy, queue, reported);
+            } else if (type == RIGHT) {
+                int node = status.nodeOf[a];
+                int below = status.prevSegment(node);
+                int above = status.nextSegment(node);
+                status.delete(node);
+                check(below, above, cx, cy, queue, reported);
+            } else {
+                int b = queue.b[e];
+                int na = status.nodeOf[a];
+                int nb = status.nodeOf[b];
+                if (na == -1 || nb == -1) continue;
+
+                int lower;
+                int upper;
+                if (status.next(na) == nb) {
+                    lower = na;
+                    upper = nb;
+                } else if (status.next(nb) == na) {
+                    lower = nb;
+                    upper = na;
+                } else {
+                    continue;
+                }
+                status.swap(lower, upper);
+                // 교차점을 지나면 위아래가 바뀌므로 새 이웃끼리 다시 본다.
+                check(status.prevSegment(lower), status.segment[lower], cx, cy, queue, reported);
+                check(status.segment[upper], status.nextSegment(upper), cx, cy, queue, reported);
+            }
+        }
+        return reported.toArray();
+    }
+
+    // 인접한 두 선분이 만나면 쌍을 기록하고, 교차점이 현재 사건 뒤쪽이면 교차 사건을 넣는다.
+    void check(int below, int above, double cx, double cy, EventQueue queue, PairSet reported) {
+        if (below == -1 || above == -1) return;
+        if (!intersects(below, above)) return;
+        if (!reported.add(pair(below, above))) return;
+
+        double dxa = x2[below] - x1[below];
+        double dya = y2[below] - y1[below];
+        double dxb = x2[above] - x1[above];
+        double dyb = y2[above] - y1[above];
+        double denominator = dxa * dyb - dya * dxb;
+        if (denominator == 0) return; // 한 직선 위에서 겹침: 순서가 바뀌지 않는다.
+
+        double t = ((x1[above] - x1[below]) * dyb - (y1[above] - y1[below]) * dxb) / denominator;
+        double px = x1[below] + t * dxa;
+        double py = y1[below] + t * dya;
+        if (px > cx || (px == cx && py > cy)) {
+            queue.push(px, py, CROSS, below, above);
+        }
+    }
+
+    static long pair(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    // 현재 sweep x에서 아래 -> 위 순서로 선분을 담는 treap. node마다 segment를 담고 parent 포인터로 이웃을 찾는다.
+    // 교차 사건에서는 두 node의 segment만 맞바꾸므로 비교가 필요 없다.
+    class Status {
+        final int[] segment;
+        final int[] nodeOf;
+        final int[] left;
+        final int[] right;
+        final int[] parent;
+        final int[] priority;
+        int root = -1;
+        int nodes;
+        int seed = 0x2545F491;
+
+        Status(int capacity) {
+            segment = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            parent = new int[capacity];
+            priority = new int[capacity];
+            nodeOf = new int[capacity];
+            Arrays.fill(nodeOf, -1);
+        }
+
+        // s의 왼쪽 끝점이 선분 t보다 아래에 있으면 음수. 끝점이 t 위에 있으면 기울기로 비교한다.
+        int compare(int s, int t) {
+            int side = Q17386.ccw(x1[t], y1[t], x2[t], y2[t], x1[s], y1[s]);
+            if (side != 0) return side;
+            int turn = Q17386.ccw(0, 0, x2[t] - x1[t], y2[t] - y1[t], x2[s] - x1[s], y2[s] - y1[s]);
+            if (turn != 0) return turn;
+            return Integer.compare(s, t);
+        }
+
+        int insert(int s) {
+            int node = nodes++;
+            segment[node] = s;
+            nodeOf[s] = node;
+            left[node] = right[node] = -1;
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            priority[node] = seed;
+
+            if (root == -1) {
+                root = node;
+                parent[node] = -1;
+                return node;
+            }
+            int cur = root;
+            while (true) {
+                if (compare(s, segment[cur]) < 0) {
+                    if (left[cur] == -1) {
+                        left[cur] = node;
+                        break;
+                    }
+                    cur = left[cur];
+                } else {
+                    if (right[cur] == -1) {
+                        right[cur] = node;
+                        break;
+                    }
+                    cur = right[cur];
+                }
+            }
+            parent[node] = cur;
+            while (parent[node] != -1 && priority[parent[node]] < priority[node]) {
+                rotateUp(node);
+            }
+            return node;
+        }
+
+        void delete(int node) {
+            while (left[node] != -1 || right[node] != -1) {
+                int child;
+                if (left[node] == -1) child = right[node];
+                else if (right[node] == -1) child = left[node];
+                else child = priority[left[node]] > priority[right[node]] ? left[node] : right[node];
+                rotateUp(child);
+            }
+            int p = parent[node];
+            if (p == -1) root = -1;
+            else if (left[p] == node) left[p] = -1;
+            else right[p] = -1;
+            nodeOf[segment[node]] = -1;
+        }
+
+        // node를 부모 자리로 올린다.
+        void rotateUp(int node) {
+            int p = parent[node];
+            int g = parent[p];
+            if (left[p] == node) {
+                left[p] = right[node];
+                if (right[node] != -1) parent[right[node]] = p;
+                right[node] = p;
+            } else {
+                right[p] = left[node];
+                if (left[node] != -1) parent[left[node]] = p;
+                left[node] = p;
+            }
+            parent[p] = node;
+            parent[node] = g;
+            if (g == -1) root = node;
+            else if (left[g] == p) left[g] = node;
+            else right[g] = node;
+        }
+
+        int next(int node) {
+            if (right[node] != -1) {
+                node = right[node];
+                while (left[node] != -1) node = left[node];
+                return node;
+            }
+            int p = parent[node];
+            while (p != -1 && right[p] == node) {
+                node = p;
+                p = parent[p];
+            }
+            return p;
+        }
+
+        int prev(int node) {
+            if (left[node] != -1) {
+                node = left[node];
+                while (right[node] != -1) node = right[node];
+                return node;
+            }
+            int p = parent[node];
+            while (p != -1 && left[p] == node) {
+                node = p;
+                p = parent[p];
+            }
+            return p;
+        }
+
+        int nextSegment(int node) {
+            int next = next(node);
+            return next == -1 ? -1 : segment[next];
+        }
+
+        int prevSegment(int node) {
+            int prev = prev(node);
+            return prev == -1 ? -1 : segment[prev];
+        }
+
+        void swap(int na, int nb) {
+            int sa = segment[na];
+            int sb = segment[nb];
+            segment[na] = sb;
+            segment[nb] = sa;
+            nodeOf[sa] = nb;
+            nodeOf[sb] = na;
+        }
+    }
+
+    // 사건 큐: 사건은 병렬 배열에 쌓고, heap에는 사건 번호만 둔다. (x, y, 종류) 순
+    static class EventQueue {
+        double[] x;
+        double[] y;
+        int[] type;
+        int[] a;
+        int[] b;
+        int[] heap;
+        int count;
+        int size;
+
+        EventQueue(int capacity) {
+            capacity = Math.max(capacity, 16);
+            x = new double[capacity];
+            y = new double[capacity];
+            type = new int[capacity];
+            a = new int[capacity];
+            b = new int[capacity];
+            heap = new int[capacity];
+        }
+
+        void push(double ex, double ey, int eventType, int ea, int eb) {
+            if (count == x.length) {
+                int capacity = count * 2;
+                x = Arrays.copyOf(x, capacity);
+                y = Arrays.copyOf(y, capacity);
+                type = Arrays.copyOf(type, capacity);
+                a = Arrays.copyOf(a, capacity);
+                b = Arrays.copyOf(b, capacity);
+            }
+            if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+
+            int e = count++;
+            x[e] = ex;
+            y[e] = ey;
+            type[e] = eventType;
+            a[e] = ea;
+            b[e] = eb;
+
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(e, heap[parent])) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = e;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && less(heap[child + 1], heap[child])) child++;
+                if (!less(heap[child], last)) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+
+        boolean less(int e, int f) {
+            if (x[e] != x[f]) return x[e] < x[f];
+            if (y[e] != y[f]) return y[e] < y[f];
+            return type[e] < type[f];
+        }
+    }
+
+    // 보고한 쌍의 중복 제거용 open addressing long 집합
+    static class PairSet {
+        static final long EMPTY = -1L;
+        long[] table = new long[1 << 10];
+        int size;
+
+        PairSet() {
+            Arrays.fill(table, EMPTY);
+        }
+
+        boolean add(long key) {
+            if ((size + 1) * 2 > table.length) grow();
+            int mask = table.length - 1;
+            int i = hash(key) & mask;
+            while (table[i] != EMPTY) {
+                if (table[i] == key) return false;
+                i = (i + 1) & mask;
+            }
+            table[i] = key;
+            size++;
+            return true;
+        }
+
+        void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            Arrays.fill(table, EMPTY);
+            int mask = table.length - 1;
+            for (long key : old) {
+                if (key == EMPTY) continue;
+                int i = hash(key) & mask;
+                while (table[i] != EMPTY) i = (i + 1) & mask;
+                table[i] = key;
+            }
+        }
+
+        static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        long[] toArray() {
+            long[] result = new long[size];
+            int p = 0;
+            for (long key : table) {
+                if (key != EMPTY) result[p++] = key;
+            }
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    // 1. 작은 격자에서 길이 0인 선분(점)을 섞어 intersects / anyIntersection을 교과서식 판정(onSegment)과 비교
+    // 2. 무작위 짧은 선분에서 O(n^2) 전수 비교와 결과/시간 비교, 큰 n에서는 sweep만 실행
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int bruteForceLimit = 5_000;
+        Random random = new Random(17386);
+
+        boolean degenerateSame = true;
+        for (int round = 0; round < 20_000; round++) {
+            int size = 2 + random.nextInt(4);
+            long[] ax = new long[size];
+            long[] ay = new long[size];
+            long[] bx = new long[size];
+            long[] by = new long[size];
+            for (int i = 0; i < size; i++) {
+                ax[i] = random.nextInt(4);
+                ay[i] = random.nextInt(4);
+                boolean point = random.nextInt(3) == 0;
+                bx[i] = point ? ax[i] : random.nextInt(4);
+                by[i] = point ? ay[i] : random.nextInt(4);
+            }
+            SegmentSweep sweep = new SegmentSweep(ax, ay, bx, by);
+            boolean anyExpected = false;
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    boolean expected = referenceIntersects(ax[i], ay[i], bx[i], by[i], ax[j], ay[j], bx[j], by[j]);
+                    degenerateSame &= sweep.intersects(i, j) == expected && sweep.intersects(j, i) == expected;
+                    anyExpected |= expected;
+                }
+            }
+            degenerateSame &= (sweep.anyIntersection() != -1) == anyExpected;
+        }
+        System.out.printf("small grid with zero-length segments (20000 cases) same=%b%n", degenerateSame);
+
+        for (int size : new int[]{bruteForceLimit, n}) {
+            long range = 1_000_000;
+            long length = Math.max(2, range / (long) Math.sqrt(size) / 4);
+            long[] ax = new long[size];
+            long[] ay = new long[size];
+            long[] bx = new long[size];
+            long[] by = new long[size];
+            for (int i = 0; i < size; i++) {
+                ax[i] = random.nextInt((int) range);
+                ay[i] = random.nextInt((int) range);
+                bx[i] = ax[i] + random.nextInt((int) (2 * length)) - length;
+                by[i] = ay[i] + random.nextInt((int) (2 * length)) - length;
+            }
+            SegmentSweep sweep = new SegmentSweep(ax, ay, bx, by);
+
+            long t0 = System.nanoTime();
+            long any = sweep.anyIntersection();
+            long t1 = System.nanoTime();
+            long[] all = sweep.allIntersections();
+            long t2 = System.nanoTime();
+            System.out.printf("n=%d any=%b (%d ms), all=%d pairs (%d ms)%n",
+                    size, any != -1, (t1 - t0) / 1_000_000, all.length, (t2 - t1) / 1_000_000);
+
+            if (size <= bruteForceLimit) {
+                long t3 = System.nanoTime();
+                long[] expected = new long[size * 4];
+                int count = 0;
+                for (int i = 0; i < size; i++) {
+                    for (int j = i + 1; j < size; j++) {
+                        if (sweep.intersects(i, j)) {
+                            if (count == expected.length) expected = Arrays.copyOf(expected, count * 2);
+                            expected[count++] = pair(i, j);
+                        }
+                    }
+                }
+                long t4 = System.nanoTime();
+                System.out.printf("brute force %d pairs (%d ms), same=%b%n",
+                        count, (t4 - t3) / 1_000_000, Arrays.equals(Arrays.copyOf(expected, count), all));
+            }
+        }
+    }
+
+    // 비교용: 방향이 갈리면 교차, ccw가 0인 끝점은 상대 선분의 bounding box 안에 있는지 본다.
+    static boolean referenceIntersects(long ax, long ay, long bx, long by, long cx, long cy, long dx, long dy) {
+        int d1 = Q17386.ccw(cx, cy, dx, dy, ax, ay);
+        int d2 = Q17386.ccw(cx, cy, dx, dy, bx, by);
+        int d3 = Q17386.ccw(ax, ay, bx, by, cx, cy);
+        int d4 = Q17386.ccw(ax, ay, bx, by, dx, dy);
+        if (d1 * d2 < 0 && d3 * d4 < 0) return true;
+        return (d1 == 0 && onSegment(cx, cy, dx, dy, ax, ay))
+                || (d2 == 0 && onSegment(cx, cy, dx, dy, bx, by))
+                || (d3 == 0 && onSegment(ax, ay, bx, by, cx, cy))
+                || (d4 == 0 && onSegment(ax, ay, bx, by, dx, dy));
+    }
+
+    // (px, py)가 선분의 직선 위에 있다는 전제에서 선분 안에 있는지
+    static boolean onSegment(long x1, long y1, long x2, long y2, long px, long py) {
+        return Math.min(x1, x2) <= px && px <= Math.max(x1, x2) && Math.min(y1, y2) <= py && py <= Math.max(y1, y2);
+    }
+}
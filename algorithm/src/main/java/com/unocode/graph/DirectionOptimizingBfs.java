@@ -0,0 +1,249 @@
+package com.unocode.graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Beamer의 direction-optimizing BFS (level-synchronous, fork-join 병렬)
+// 그래프는 무방향 CSR(offset/adjacency) 형태, frontier와 visited는 long[] 비트셋으로 관리한다.
+// top-down : frontier 정점의 간선을 훑어 미방문 정점을 CAS로 선점
+// bottom-up: 미방문 정점이 frontier에 속한 이웃을 하나라도 찾으면 즉시 중단 (frontier가 클 때 유리)
+// 결과는 Q1697 같은 순차 BFS와 동일한 depth 배열 (도달 불가 정점은 -1)
+public class DirectionOptimizingBfs {
+
+    // top-down -> bottom-up 전환: frontier 간선 수(mf)가 미탐색 간선 수(mu)/ALPHA 보다 커질 때
+    static final int ALPHA = 14;
+    // bottom-up -> top-down 전환: frontier 정점 수(nf)가 n/BETA 보다 작아지고 줄어드는 중일 때
+    static final int BETA = 24;
+    // 하나의 fork-join 작업이 맡는 비트셋 word 수 (word 하나 = 정점 64개)
+    static final int WORDS_PER_TASK = 256;
+
+    private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // 무방향 간선 목록을 CSR로 변환한다. offset 길이는 n + 1
+    static int[][] toCsr(int n, int[] from, int[] to) {
+        int[] offset = new int[n + 1];
+        for (int i = 0; i < from.length; i++) {
+            offset[from[i] + 1]++;
+            offset[to[i] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offset[i + 1] += offset[i];
+        }
+        int[] adjacency = new int[offset[n]];
+        int[] cursor = Arrays.copyOf(offset, n);
+        for (int i = 0; i < from.length; i++) {
+            adjacency[cursor[from[i]]++] = to[i];
+            adjacency[cursor[to[i]]++] = from[i];
+        }
+        return new int[][]{offset, adjacency};
+    }
+
+    // 비교 기준이 되는 순차 BFS, 큐는 객체 없이 int[]로 처리
+    static int[] sequential(int n, int[] offset, int[] adjacency, int source) {
+        int[] depth = new int[n];
+        Arrays.fill(depth, -1);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        depth[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int cur = queue[head++];
+            for (int e = offset[cur]; e < offset[cur + 1]; e++) {
+                int next = adjacency[e];
+                if (depth[next] == -1) {
+                    depth[next] = depth[cur] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return depth;
+    }
+
+    static int[] parallel(int n, int[] offset, int[] adjacency, int source, ForkJoinPool pool) {
+        int words = (n + 63) >>> 6;
+        int[] depth = new int[n];
+        Arrays.fill(depth, -1);
+
+        long[] visited = new long[words];
+        long[] frontier = new long[words];
+        long[] next = new long[words];
+
+        depth[source] = 0;
+        visited[source >>> 6] |= 1L << source;
+        frontier[source >>> 6] |= 1L << source;
+
+        long frontierVertices = 1;
+        long frontierEdges = offset[source + 1] - offset[source];
+        long unexploredEdges = adjacency.length - frontierEdges;
+        long previousVertices = 0;
+        boolean bottomUp = false;
+        int level = 0;
+
+        while (frontierVertices > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierVertices < previousVertices && frontierVertices < n / BETA) {
+                bottomUp = false;
+            }
+
+            level++;
+            Step step = new Step(bottomUp, n, offset, adjacency, depth, visited, frontier, next, level, 0, words);
+            pool.invoke(step);
+
+            previousVertices = frontierVertices;
+            frontierVertices = step.vertices;
+            frontierEdges = step.edges;
+            unexploredEdges -= frontierEdges;
+
+            long[] tmp = frontier;
+            frontier = next;
+            next = tmp;
+            Arrays.fill(next, 0L);
+        }
+        return depth;
+    }
+
+    static class Step extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final boolean bottomUp;
+        final int n;
+        final int[] offset;
+        final int[] adjacency;
+        final int[] depth;
+        final long[] visited;
+        final long[] frontier;
+        final long[] next;
+        final int level;
+        final int fromWord;
+        final int toWord;
+
+        // 이번 단계에서 새로 방문한 정점 수와 그 정점들의 간선 수 (다음 단계 휴리스틱 입력)
+        long vertices;
+        long edges;
+
+        Step(boolean bottomUp, int n, int[] offset, int[] adjacency, int[] depth,
+             long[] visited, long[] frontier, long[] next, int level, int fromWord, int toWord) {
+            this.bottomUp = bottomUp;
+            this.n = n;
+            this.offset = offset;
+            this.adjacency = adjacency;
+            this.depth = depth;
+            this.visited = visited;
+            this.frontier = frontier;
+            this.next = next;
+            this.level = level;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+        }
+
+        @Override
+        protected void compute() {
+            if (toWord - fromWord > WORDS_PER_TASK) {
+                int mid = (fromWord + toWord) >>> 1;
+                Step left = new Step(bottomUp, n, offset, adjacency, depth, visited, frontier, next, level, fromWord, mid);
+                Step right = new Step(bottomUp, n, offset, adjacency, depth, visited, frontier, next, level, mid, toWord);
+                invokeAll(left, right);
+                vertices = left.vertices + right.vertices;
+                edges = left.edges + right.edges;
+                return;
+            }
+
+            if (bottomUp) {
+                bottomUpStep();
+            } else {
+                topDownStep();
+            }
+        }
+
+        // frontier 정점을 담당, 다른 작업과 같은 정점을 찾을 수 있으므로 visited는 CAS(원자적 OR)로 선점한다.
+        void topDownStep() {
+            for (int w = fromWord; w < toWord; w++) {
+                long word = frontier[w];
+                while (word != 0) {
+                    int cur = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+
+                    for (int e = offset[cur]; e < offset[cur + 1]; e++) {
+                        int target = adjacency[e];
+                        int targetWord = target >>> 6;
+                        long bit = 1L << target;
+                        if ((visited[targetWord] & bit) != 0) continue;
+
+                        long before = (long) BITS.getAndBitwiseOr(visited, targetWord, bit);
+                        if ((before & bit) != 0) continue;
+
+                        depth[target] = level;
+                        BITS.getAndBitwiseOr(next, targetWord, bit);
+                        vertices++;
+                        edges += offset[target + 1] - offset[target];
+                    }
+                }
+            }
+        }
+
+        // 미방문 정점을 담당, word 단위로 작업이 나뉘므로 visited/next 쓰기가 겹치지 않아 CAS가 필요 없다.
+        void bottomUpStep() {
+            for (int w = fromWord; w < toWord; w++) {
+                long unvisited = ~visited[w];
+                if (w == (n - 1) >>> 6 && (n & 63) != 0) {
+                    unvisited &= (1L << n) - 1;
+                }
+
+                long found = 0;
+                while (unvisited != 0) {
+                    int cur = (w << 6) + Long.numberOfTrailingZeros(unvisited);
+                    long bit = unvisited & -unvisited;
+                    unvisited &= unvisited - 1;
+
+                    for (int e = offset[cur]; e < offset[cur + 1]; e++) {
+                        int parent = adjacency[e];
+                        if ((frontier[parent >>> 6] & (1L << parent)) != 0) {
+                            depth[cur] = level;
+                            found |= bit;
+                            vertices++;
+                            edges += offset[cur + 1] - offset[cur];
+                            break;
+                        }
+                    }
+                }
+                next[w] = found;
+                visited[w] |= found;
+            }
+        }
+    }
+
+    // 무작위 그래프에서 순차 BFS와 결과/시간 비교
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+
+        Random random = new Random(1697);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+        }
+        int[][] csr = toCsr(n, from, to);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            int[] expected = sequential(n, csr[0], csr[1], 0);
+            long t1 = System.nanoTime();
+            int[] actual = parallel(n, csr[0], csr[1], 0, pool);
+            long t2 = System.nanoTime();
+
+            System.out.printf("sequential %d ms, direction-optimizing %d ms (parallelism %d), same=%b%n",
+                    (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, pool.getParallelism(),
+                    Arrays.equals(expected, actual));
+        }
+    }
+}
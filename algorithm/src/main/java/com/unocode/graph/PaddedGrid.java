@@ -0,0 +1,196 @@
+package com.unocode.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// 격자를 테두리(sentinel) 한 겹을 두른 평탄 int[] 하나로 저장한다.
+// 칸 (row, col) -> idx = (row + 1) * width + (col + 1),  width = cols + 2
+// 이웃은 idx - width, idx + width, idx - 1, idx + 1 이고 테두리 칸에 sentinel 값이 들어 있어
+// 범위 검사(row - 1 >= 0 ...)가 필요 없다. 테두리 값은 알고리즘에 맞게 고른다.
+// - BFS        : sentinel = 벽 값 (절대 지나갈 수 없음)
+// - 내리막 DP  : sentinel = Integer.MAX_VALUE (절대 더 낮지 않음, dp.DownhillPaths)
+// 거리/경로 수 같은 결과 배열도 같은 padded index를 쓴다. 격자 배치와 이웃 offset만 두고 문제별 DP는 각 패키지에 둔다.
+public class PaddedGrid {
+
+    public final int rows;
+    public final int cols;
+    public final int width;
+    public final int[] cells;
+    // 상, 하, 좌, 우 이웃까지의 index 차이
+    public final int[] neighbors;
+    final int sentinel;
+
+    public PaddedGrid(int rows, int cols, int sentinel) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("grid must be at least 1 x 1: " + rows + " x " + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.width = cols + 2;
+        this.sentinel = sentinel;
+        this.cells = new int[(rows + 2) * width];
+        this.neighbors = new int[]{-width, width, -1, 1};
+        Arrays.fill(cells, sentinel);
+    }
+
+    public int sentinel() {
+        return sentinel;
+    }
+
+    public int index(int row, int col) {
+        return (row + 1) * width + (col + 1);
+    }
+
+    public int row(int idx) {
+        return idx / width - 1;
+    }
+
+    public int col(int idx) {
+        return idx % width - 1;
+    }
+
+    public void set(int row, int col, int value) {
+        cells[index(row, col)] = value;
+    }
+
+    public int get(int row, int col) {
+        return cells[index(row, col)];
+    }
+
+    // 단일 출발 BFS. 값이 wall인 칸(테두리 포함)은 지나갈 수 없다. 도달 불가 칸은 -1
+    public int[] bfs(int source, int wall) {
+        return bfs(new int[]{source}, 1, wall);
+    }
+
+    // 다중 출발 BFS: sources[0..count) 모두 거리 0에서 시작한다. (Q7576 토마토 같은 문제)
+    public int[] bfs(int[] sources, int count, int wall) {
+        if (sentinel != wall) {
+            throw new IllegalArgumentException("border sentinel must be the wall value for BFS: " + sentinel);
+        }
+        int[] dist = new int[cells.length];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[rows * cols];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < count; i++) {
+            int s = sources[i];
+            if (cells[s] == wall || dist[s] == 0) continue;
+            dist[s] = 0;
+            queue[tail++] = s;
+        }
+
+        int up = -width;
+        int down = width;
+        while (head < tail) {
+            int cur = queue[head++];
+            int d = dist[cur] + 1;
+            int next = cur + up;
+            if (dist[next] == -1 && cells[next] != wall) { dist[next] = d; queue[tail++] = next; }
+            next = cur + down;
+            if (dist[next] == -1 && cells[next] != wall) { dist[next] = d; queue[tail++] = next; }
+            next = cur - 1;
+            if (dist[next] == -1 && cells[next] != wall) { dist[next] = d; queue[tail++] = next; }
+            next = cur + 1;
+            if (dist[next] == -1 && cells[next] != wall) { dist[next] = d; queue[tail++] = next; }
+        }
+        return dist;
+    }
+
+    // 행 우선 한 번 훑는 2차원 누적합 (테두리 값은 0으로 본다)
+    // sum[idx] = (0, 0) ~ (row, col) 직사각형 합. 임의 직사각형 합은 rectangleSum 으로 구한다.
+    public long[] prefixSums() {
+        long[] sum = new long[cells.length];
+        for (int r = 0; r < rows; r++) {
+            for (int idx = index(r, 0), end = idx + cols; idx < end; idx++) {
+                sum[idx] = cells[idx] + sum[idx - 1] + sum[idx - width] - sum[idx - width - 1];
+            }
+        }
+        return sum;
+    }
+
+    // (r1, c1) ~ (r2, c2) 포함 직사각형 합
+    public long rectangleSum(long[] sum, int r1, int c1, int r2, int c2) {
+        int bottomRight = index(r2, c2);
+        int topRight = index(r1 - 1, c2);
+        int bottomLeft = index(r2, c1 - 1);
+        int topLeft = index(r1 - 1, c1 - 1);
+        return sum[bottomRight] - sum[topRight] - sum[bottomLeft] + sum[topLeft];
+    }
+
+    // 범위 검사를 하는 다중 출발 BFS(int[][])와 비교 (내리막 DP 비교는 dp.DownhillPaths)
+    public static void main(String[] args) {
+        Random random = new Random(1520);
+        for (int size : new int[]{1000, 4000}) {
+            int rows = size;
+            int cols = size;
+            // 벽 20%, 출발점 16개
+            int wall = -1;
+            int[][] maze = new int[rows][cols];
+            PaddedGrid grid = new PaddedGrid(rows, cols, wall);
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    int v = random.nextInt(5) == 0 ? wall : 0;
+                    maze[i][j] = v;
+                    grid.set(i, j, v);
+                }
+            }
+            int[] sourceRows = new int[16];
+            int[] sourceCols = new int[16];
+            int[] sources = new int[16];
+            for (int s = 0; s < 16; s++) {
+                sourceRows[s] = random.nextInt(rows);
+                sourceCols[s] = random.nextInt(cols);
+                sources[s] = grid.index(sourceRows[s], sourceCols[s]);
+            }
+            long t3 = System.nanoTime();
+            int[][] expected = boundsCheckedBfs(maze, sourceRows, sourceCols, wall);
+            long t4 = System.nanoTime();
+            int[] dist = grid.bfs(sources, sources.length, wall);
+            long t5 = System.nanoTime();
+            boolean same = true;
+            for (int i = 0; i < rows && same; i++) {
+                for (int j = 0; j < cols; j++) {
+                    if (expected[i][j] != dist[grid.index(i, j)]) {
+                        same = false;
+                        break;
+                    }
+                }
+            }
+            System.out.printf("multi-source BFS %dx%d bounds-checked %d ms, padded %d ms, same=%b%n",
+                    rows, cols, (t4 - t3) / 1_000_000, (t5 - t4) / 1_000_000, same);
+        }
+    }
+
+    static int[][] boundsCheckedBfs(int[][] maze, int[] sourceRows, int[] sourceCols, int wall) {
+        int rows = maze.length;
+        int cols = maze[0].length;
+        int[] dRow = {-1, 1, 0, 0};
+        int[] dCol = {0, 0, -1, 1};
+        int[][] dist = new int[rows][cols];
+        for (int[] row : dist) Arrays.fill(row, -1);
+        int[] queue = new int[rows * cols];
+        int head = 0;
+        int tail = 0;
+        for (int s = 0; s < sourceRows.length; s++) {
+            int r = sourceRows[s];
+            int c = sourceCols[s];
+            if (maze[r][c] == wall || dist[r][c] == 0) continue;
+            dist[r][c] = 0;
+            queue[tail++] = r * cols + c;
+        }
+        while (head < tail) {
+            int cur = queue[head++];
+            int r = cur / cols;
+            int c = cur % cols;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + dRow[d];
+                int nc = c + dCol[d];
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                if (maze[nr][nc] == wall || dist[nr][nc] != -1) continue;
+                dist[nr][nc] = dist[r][c] + 1;
+                queue[tail++] = nr * cols + nc;
+            }
+        }
+        return dist;
+    }
+}
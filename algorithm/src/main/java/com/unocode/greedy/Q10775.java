@@ -1,5 +1,7 @@
 package com.unocode.greedy;
 
+import com.unocode.unionfind.DisjointSet;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -7,18 +9,9 @@ import java.io.InputStreamReader;
 public class Q10775 {
 
     static int G, P;
-    static int[] parent;
-
-    static int find(int x) {
-        if (parent[x] == x) return x;
-        return parent[x] = find(parent[x]);
-    }
-
-    static void union(int x, int y) {
-        x = find(x);
-        y = find(y);
-        parent[x] = y;
-    }
+    static DisjointSet gates;
+    // label[루트] = 그 집합에서 아직 비어 있는 가장 큰 게이트 (0이면 없음)
+    static int[] label;
 
     public static void main(String[] args) throws IOException {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
@@ -26,11 +19,11 @@ public class Q10775 {
         G = Integer.parseInt(br.readLine()); // 게이트 수
         P = Integer.parseInt(br.readLine()); // 비행기 수
 
-        parent = new int[G + 1];
-
         // 초기 상태: 각 게이트는 자기 자신이 루트
+        gates = new DisjointSet(G + 1);
+        label = new int[G + 1];
         for (int i = 0; i <= G; i++) {
-            parent[i] = i;
+            label[i] = i;
         }
 
         int count = 0;
@@ -39,7 +32,8 @@ public class Q10775 {
             int gi = Integer.parseInt(br.readLine());
 
             // gi 이하에서 가장 큰 사용 가능한 게이트
-            int availableGate = find(gi);
+            int root = gates.find(gi);
+            int availableGate = label[root];
 
             // 더 이상 도킹 불가능
             if (availableGate == 0) {
@@ -48,7 +42,10 @@ public class Q10775 {
 
             count++;
 
-            union(availableGate, availableGate - 1);
+            // 크기 기준으로 합치고, 합친 루트에 아래 집합의 빈 게이트를 label로 옮겨 둔다.
+            int below = label[gates.find(availableGate - 1)];
+            gates.union(root, availableGate - 1);
+            label[gates.find(root)] = below;
         }
 
         System.out.println(count);
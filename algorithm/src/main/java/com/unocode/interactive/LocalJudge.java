@@ -0,0 +1,86 @@
+package com.unocode.interactive;
+
+import java.io.*;
+import java.util.*;
+
+// Q30924 채점기 대역. 별도 프로세스로 띄워 표준 입출력으로 질문에 답한다.
+// 입력 버퍼가 비어 읽기를 기다려야 할 때만 응답을 flush 하고 latencyMicros 만큼 쉰다. (네트워크 왕복 지연 흉내)
+// 사용법: LocalJudge <A> <B> <latencyMicros>, 결과(질문 수, 정답 여부)는 stderr로 출력
+public class LocalJudge {
+
+    public static void main(String[] args) throws Exception {
+        int A = Integer.parseInt(args[0]);
+        int B = Integer.parseInt(args[1]);
+        long latencyMicros = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+
+        int queries = 0;
+        while (true) {
+            if (!br.ready()) {
+                out.flush();
+                if (latencyMicros > 0) Thread.sleep(latencyMicros / 1000, (int) (latencyMicros % 1000) * 1000);
+            }
+            String line = br.readLine();
+            if (line == null) {
+                System.err.println("judge: input closed after " + queries + " queries");
+                return;
+            }
+
+            StringTokenizer st = new StringTokenizer(line);
+            String type = st.nextToken();
+            if (type.equals("?")) {
+                char who = st.nextToken().charAt(0);
+                int value = Integer.parseInt(st.nextToken());
+                queries++;
+                out.println((who == 'A' ? A : B) == value ? 1 : 0);
+            } else {
+                int answer = Integer.parseInt(st.nextToken());
+                System.err.println("judge: queries=" + queries + " correct=" + (answer == A + B));
+                out.flush();
+                return;
+            }
+        }
+    }
+
+    // 채점기 프로세스를 띄워 Q30924를 window별로 실행하고 왕복 횟수와 소요 시간을 비교한다.
+    // 사용법: LocalJudge$Bench [latencyMicros] [window...]
+    static class Bench {
+        public static void main(String[] args) throws Exception {
+            long latencyMicros = args.length > 0 ? Long.parseLong(args[0]) : 50;
+            int[] windows = {1, 16, 64, 256};
+            if (args.length > 1) {
+                windows = new int[args.length - 1];
+                for (int i = 1; i < args.length; i++) windows[i - 1] = Integer.parseInt(args[i]);
+            }
+
+            Random random = new Random(30924);
+            int A = random.nextInt(10000) + 1;
+            int B = random.nextInt(10000) + 1;
+            String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            String classpath = System.getProperty("java.class.path");
+
+            for (int window : windows) {
+                Process judge = new ProcessBuilder(java, "-cp", classpath, LocalJudge.class.getName(),
+                        String.valueOf(A), String.valueOf(B), String.valueOf(latencyMicros))
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+
+                Q30924.br = new BufferedReader(new InputStreamReader(judge.getInputStream()));
+                Q30924.out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(judge.getOutputStream())));
+                Q30924.window = window;
+                Q30924.roundTrips = 0;
+
+                long start = System.nanoTime();
+                Q30924.solve();
+                judge.waitFor();
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("window=%d roundTrips=%d time=%d ms%n",
+                        window, Q30924.roundTrips, elapsed / 1_000_000);
+                Q30924.out.close();
+            }
+        }
+    }
+}
@@ -7,40 +7,76 @@ public class Q30924 {
     static BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
     static PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
 
+    // 한 번에 보내 두는 질문 수. 1이면 기존처럼 질문 -> flush -> 응답 대기를 반복한다.
+    static int window = 64;
+    // flush 후 응답을 기다린 횟수 (왕복 횟수)
+    static int roundTrips = 0;
+
     static int ask(char who, int value) throws IOException {
         out.println("? " + who + " " + value);
         out.flush();
+        roundTrips++;
         return Integer.parseInt(br.readLine());
     }
 
     public static void main(String[] args) throws Exception {
+        if (args.length > 0) window = Integer.parseInt(args[0]);
+        solve();
+    }
+
+    static void solve() throws IOException {
         List<Integer> nums = new ArrayList<>();
         for (int i = 1; i <= 10000; i++) nums.add(i);
 
         Collections.shuffle(nums);
 
-        int A = -1, B = -1;
-
         // A 찾기
-        for (int x : nums) {
-            if (ask('A', x) == 1) {
-                A = x;
-                break;
-            }
-        }
+        int A = window <= 1 ? find('A', nums) : findPipelined('A', nums);
 
         // 다시 섞어서 B 찾기
         Collections.shuffle(nums);
 
-        for (int x : nums) {
-            if (ask('B', x) == 1) {
-                B = x;
-                break;
-            }
-        }
+        int B = window <= 1 ? find('B', nums) : findPipelined('B', nums);
 
         // 정답 출력
         out.println("! " + (A + B));
         out.flush();
     }
+
+    // 마지막 후보는 묻지 않아도 나머지가 모두 0이면 정답이다.
+    static int find(char who, List<Integer> nums) throws IOException {
+        for (int i = 0; i < nums.size() - 1; i++) {
+            if (ask(who, nums.get(i)) == 1) return nums.get(i);
+        }
+        return nums.get(nums.size() - 1);
+    }
+
+    // 응답을 기다리지 않고 window개까지 질문을 먼저 보내 두고, 응답이 절반 소진되면 다시 채워 보낸다.
+    // 정답을 찾은 뒤에도 이미 보낸 질문의 응답은 읽어서 버려야 다음 질문과 응답이 어긋나지 않는다.
+    // 낭비되는 질문은 최대 window - 1개
+    static int findPipelined(char who, List<Integer> nums) throws IOException {
+        int candidates = nums.size() - 1;
+        int sent = 0;
+        int received = 0;
+        int found = -1;
+
+        while (received < sent || (found == -1 && sent < candidates)) {
+            if (found == -1 && sent < candidates && sent - received <= window / 2) {
+                int limit = Math.min(candidates, received + window);
+                while (sent < limit) {
+                    out.print("? ");
+                    out.print(who);
+                    out.print(' ');
+                    out.println(nums.get(sent++));
+                }
+                out.flush();
+                roundTrips++;
+            }
+
+            int answer = Integer.parseInt(br.readLine());
+            if (answer == 1 && found == -1) found = nums.get(received);
+            received++;
+        }
+        return found == -1 ? nums.get(nums.size() - 1) : found;
+    }
 }
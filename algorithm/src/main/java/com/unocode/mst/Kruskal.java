@@ -0,0 +1,133 @@
+package com.unocode.mst;
+
+import com.unocode.unionfind.DisjointSet;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// 간선 객체 없이 long 하나에 (가중치, from, to)를 담는 Kruskal
+// key = (weight - minWeight) << (2 * vertexBits) | from << vertexBits | to
+// -> long 오름차순 정렬이 곧 가중치 오름차순, primitive Arrays.sort 한 번으로 끝난다.
+// 가중치 범위와 정점 수가 63비트에 들어가지 않으면 (weight << 32 | 간선 번호)로 정렬하고
+// from/to는 원래 배열에서 읽는다.
+// union-find는 DisjointSet (union-by-size + 반복 path halving, 재귀 없음), V - 1개를 합치면 바로 멈춘다.
+// 정점 번호는 1..V (Q1197 입력 그대로), 연결 그래프가 아니면 만들어진 숲의 가중치 합을 돌려준다.
+public class Kruskal {
+
+    static long totalWeight(int vertices, int[] from, int[] to, int[] weight, int edges) {
+        if (edges == 0) return 0;
+        int minWeight = Integer.MAX_VALUE;
+        int maxWeight = Integer.MIN_VALUE;
+        for (int e = 0; e < edges; e++) {
+            minWeight = Math.min(minWeight, weight[e]);
+            maxWeight = Math.max(maxWeight, weight[e]);
+        }
+        long weightRange = (long) maxWeight - minWeight;
+        int weightBits = 64 - Long.numberOfLeadingZeros(weightRange);
+        int vertexBits = 32 - Integer.numberOfLeadingZeros(vertices);
+
+        long[] keys = new long[edges];
+        boolean packed = weightBits + 2 * vertexBits <= 63;
+        if (packed) {
+            int shift = 2 * vertexBits;
+            for (int e = 0; e < edges; e++) {
+                keys[e] = (((long) weight[e] - minWeight) << shift) | ((long) from[e] << vertexBits) | to[e];
+            }
+        } else {
+            for (int e = 0; e < edges; e++) {
+                // 가중치를 상위 32비트에 그대로 두면 long의 signed 순서가 가중치 순서와 같다.
+                keys[e] = ((long) weight[e] << 32) | e;
+            }
+        }
+        Arrays.sort(keys);
+
+        DisjointSet sets = new DisjointSet(vertices + 1);
+
+        long vertexMask = (1L << vertexBits) - 1;
+        long total = 0;
+        int unions = 0;
+        for (int i = 0; i < edges && unions < vertices - 1; i++) {
+            long key = keys[i];
+            int a;
+            int b;
+            int w;
+            if (packed) {
+                a = (int) ((key >>> vertexBits) & vertexMask);
+                b = (int) (key & vertexMask);
+                w = (int) (key >>> (2 * vertexBits)) + minWeight;
+            } else {
+                int e = (int) key;
+                a = from[e];
+                b = to[e];
+                w = weight[e];
+            }
+
+            if (!sets.union(a, b)) continue;
+            total += w;
+            unions++;
+        }
+        return total;
+    }
+
+    // Q1197의 원래 방식 PriorityQueue<Edge> 와 비교
+    public static void main(String[] args) {
+        Random random = new Random(1197);
+        int[][] cases = {{10_000, 100_000}, {100_000, 1_000_000}, {1_000_000, 5_000_000}};
+        for (int[] c : cases) {
+            int vertices = c[0];
+            int edges = c[1];
+            int[][] graph = randomConnected(vertices, edges, random);
+            int[] from = graph[0];
+            int[] to = graph[1];
+            int[] weight = graph[2];
+
+            long t0 = System.nanoTime();
+            long expected = priorityQueueKruskal(vertices, from, to, weight, edges);
+            long t1 = System.nanoTime();
+            long packed = totalWeight(vertices, from, to, weight, edges);
+            long t2 = System.nanoTime();
+
+            System.out.printf("V=%d E=%d PriorityQueue %d ms, packed long[] %d ms, totalWeight=%d same=%b%n",
+                    vertices, edges, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, packed, expected == packed);
+        }
+    }
+
+    // 무작위 신장 트리 + 나머지 무작위 간선, 가중치는 Q1197 범위 (-1,000,000 ~ 1,000,000)
+    // {from[], to[], weight[]}
+    static int[][] randomConnected(int vertices, int edges, Random random) {
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] weight = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            if (e < vertices - 1) {
+                from[e] = e + 2;
+                to[e] = random.nextInt(e + 1) + 1;
+            } else {
+                from[e] = random.nextInt(vertices) + 1;
+                to[e] = random.nextInt(vertices) + 1;
+            }
+            weight[e] = random.nextInt(2_000_001) - 1_000_000;
+        }
+        return new int[][]{from, to, weight};
+    }
+
+    static long priorityQueueKruskal(int vertices, int[] from, int[] to, int[] weight, int edges) {
+        PriorityQueue<Q1197.Edge> pq = new PriorityQueue<>(Comparator.comparingInt(e -> e.weight));
+        for (int e = 0; e < edges; e++) {
+            pq.offer(new Q1197.Edge(from[e], to[e], weight[e]));
+        }
+        DisjointSet sets = new DisjointSet(vertices + 1);
+        long totalWeight = 0;
+        int edgeCount = 0;
+        while (!pq.isEmpty() && edgeCount < vertices - 1) {
+            Q1197.Edge edge = pq.poll();
+            if (sets.union(edge.from, edge.to)) {
+                totalWeight += edge.weight;
+                edgeCount++;
+            }
+        }
+        return totalWeight;
+    }
+}
@@ -0,0 +1,91 @@
+package com.unocode.mst;
+
+import java.util.Random;
+
+// MST 가중치 합의 진입점. V와 E를 보고 알고리즘을 고른다.
+// - DENSE_PRIM : V <= DENSE_MAX_VERTICES 이고 E >= V^2 / DENSE_RATIO   (행렬 V^2 int, 정렬 없음)
+// - HEAP_PRIM  : V <= HEAP_MAX_VERTICES 이고 E >= V * HEAP_MIN_DEGREE (힙에는 key가 줄어드는 간선만 들어간다)
+// - KRUSKAL    : 그 외 (희소 그래프, 또는 정점이 많아 Prim의 정점 배열 접근이 캐시를 벗어나는 경우)
+// 기준값은 main의 밀도별 측정으로 정했다. (V = 100,000 에서는 평균 차수 100 까지도 Kruskal이 빨랐다)
+// 결과는 어느 알고리즘이든 Q1197과 같은 totalWeight
+public class MinimumSpanningTree {
+
+    static final int KRUSKAL = 0;
+    static final int HEAP_PRIM = 1;
+    static final int DENSE_PRIM = 2;
+    static final String[] NAMES = {"Kruskal", "heap Prim", "dense Prim"};
+
+    // 행렬 4096^2 int = 64MB
+    static final int DENSE_MAX_VERTICES = 4096;
+    static final int DENSE_RATIO = 3;
+    static final int HEAP_MAX_VERTICES = 1 << 16;
+    static final int HEAP_MIN_DEGREE = 16;
+
+    static int choose(int vertices, int edges) {
+        if (vertices <= DENSE_MAX_VERTICES && (long) edges * DENSE_RATIO >= (long) vertices * vertices) {
+            return DENSE_PRIM;
+        }
+        if (vertices <= HEAP_MAX_VERTICES && (long) edges >= (long) vertices * HEAP_MIN_DEGREE) {
+            return HEAP_PRIM;
+        }
+        return KRUSKAL;
+    }
+
+    static long totalWeight(int vertices, int[] from, int[] to, int[] weight, int edges) {
+        return totalWeight(choose(vertices, edges), vertices, from, to, weight, edges);
+    }
+
+    static long totalWeight(int algorithm, int vertices, int[] from, int[] to, int[] weight, int edges) {
+        switch (algorithm) {
+            case DENSE_PRIM:
+                return Prim.dense(Prim.matrix(vertices, from, to, weight, edges), vertices);
+            case HEAP_PRIM:
+                return Prim.heap(vertices, from, to, weight, edges);
+            default:
+                return Kruskal.totalWeight(vertices, from, to, weight, edges);
+        }
+    }
+
+    // 밀도별로 세 알고리즘을 모두 돌려 시간과 자동 선택 결과를 비교한다.
+    public static void main(String[] args) {
+        Random random = new Random(1197);
+        // JIT 워밍업
+        int[][] warmup = Kruskal.randomConnected(2_000, 500_000, random);
+        for (int round = 0; round < 3; round++) {
+            for (int algorithm = KRUSKAL; algorithm <= DENSE_PRIM; algorithm++) {
+                totalWeight(algorithm, 2_000, warmup[0], warmup[1], warmup[2], 500_000);
+            }
+        }
+        // {V, E}
+        int[][] cases = {
+                {100_000, 200_000}, {100_000, 1_000_000}, {100_000, 3_000_000}, {100_000, 5_000_000},
+                {10_000, 100_000}, {10_000, 300_000},
+                {10_000, 1_000_000}, {10_000, 5_000_000},
+                {3_000, 1_000_000}, {3_000, 4_000_000}, {2_000, 1_999_000},
+        };
+        for (int[] c : cases) {
+            int vertices = c[0];
+            int edges = c[1];
+            int[][] graph = Kruskal.randomConnected(vertices, edges, random);
+
+            StringBuilder sb = new StringBuilder();
+            long expected = 0;
+            boolean same = true;
+            for (int algorithm = KRUSKAL; algorithm <= DENSE_PRIM; algorithm++) {
+                if (algorithm == DENSE_PRIM && vertices > DENSE_MAX_VERTICES) {
+                    sb.append(", ").append(NAMES[algorithm]).append(" skipped");
+                    continue;
+                }
+                long t0 = System.nanoTime();
+                long result = totalWeight(algorithm, vertices, graph[0], graph[1], graph[2], edges);
+                long elapsed = System.nanoTime() - t0;
+                if (algorithm == KRUSKAL) expected = result;
+                same &= result == expected;
+                sb.append(algorithm == KRUSKAL ? "" : ", ").append(NAMES[algorithm]).append(' ')
+                        .append(elapsed / 1_000_000).append(" ms");
+            }
+            System.out.printf("V=%d E=%d (avg degree %d): %s -> chooses %s, same=%b%n",
+                    vertices, edges, 2L * edges / vertices, sb, NAMES[choose(vertices, edges)], same);
+        }
+    }
+}
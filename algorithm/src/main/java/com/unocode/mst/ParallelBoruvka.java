@@ -0,0 +1,203 @@
+package com.unocode.mst;
+
+import com.unocode.unionfind.DisjointSet;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// fork-join 병렬 Borůvka MST
+// 한 라운드:
+// 1. 간선 chunk들을 병렬로 훑으며 각 컴포넌트의 최소 출력 간선을 CAS로 갱신한다.
+//    key = weight << 32 | 간선 위치 -> long 비교 하나로 (가중치, 위치) 순서가 정해져 동점이 있어도 사이클이 생기지 않는다.
+//    같은 컴포넌트 안쪽이 된 간선은 이때 chunk 안에서 제자리 압축해 다음 라운드부터 보지 않는다.
+// 2. 고른 간선으로 컴포넌트를 합친다. (컴포넌트 수만큼의 순차 작업, DisjointSet)
+// 3. 정점의 컴포넌트 번호를 새 대표로 병렬 갱신한다.
+// 라운드마다 컴포넌트 수가 절반 이하로 줄어 O(log V) 라운드. 결과는 Kruskal/Q1197과 같은 totalWeight
+public class ParallelBoruvka {
+
+    static final int EDGES_PER_CHUNK = 1 << 15;
+    static final int VERTICES_PER_TASK = 1 << 15;
+    static final long NONE = Long.MAX_VALUE;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    final int vertices;
+    final int[] from;
+    final int[] to;
+    final int[] weight;
+    final int chunks;
+    // chunk c의 살아 있는 간선은 [c * EDGES_PER_CHUNK, c * EDGES_PER_CHUNK + live[c])
+    final int[] live;
+
+    final int[] component;
+    final long[] best;
+    final DisjointSet sets;
+
+    // 입력 배열은 복사해서 쓴다. (라운드마다 압축하므로)
+    ParallelBoruvka(int vertices, int[] from, int[] to, int[] weight, int edges) {
+        this.vertices = vertices;
+        this.from = Arrays.copyOf(from, edges);
+        this.to = Arrays.copyOf(to, edges);
+        this.weight = Arrays.copyOf(weight, edges);
+        this.chunks = (edges + EDGES_PER_CHUNK - 1) / EDGES_PER_CHUNK;
+        this.live = new int[chunks];
+        for (int c = 0; c < chunks; c++) {
+            live[c] = Math.min(EDGES_PER_CHUNK, edges - c * EDGES_PER_CHUNK);
+        }
+
+        component = new int[vertices + 1];
+        best = new long[vertices + 1];
+        sets = new DisjointSet(vertices + 1);
+        for (int v = 0; v <= vertices; v++) {
+            component[v] = v;
+        }
+    }
+
+    static long totalWeight(int vertices, int[] from, int[] to, int[] weight, int edges, ForkJoinPool pool) {
+        return new ParallelBoruvka(vertices, from, to, weight, edges).run(pool);
+    }
+
+    long run(ForkJoinPool pool) {
+        if (chunks == 0) return 0;
+        // 현재 컴포넌트 대표 목록 (정점 0은 쓰지 않는다)
+        int[] roots = new int[vertices];
+        int rootCount = vertices;
+        for (int v = 1; v <= vertices; v++) roots[v - 1] = v;
+        int[] label = new int[vertices + 1];
+
+        long total = 0;
+        while (rootCount > 1) {
+            for (int i = 0; i < rootCount; i++) best[roots[i]] = NONE;
+            pool.invoke(new ScanTask(0, chunks));
+
+            int unions = 0;
+            for (int i = 0; i < rootCount; i++) {
+                long key = best[roots[i]];
+                if (key == NONE) continue;
+                int e = (int) key;
+                if (!sets.union(from[e], to[e])) continue; // 양쪽 컴포넌트가 같은 간선을 고른 경우
+                total += weight[e];
+                unions++;
+            }
+            if (unions == 0) break; // 더 이을 간선이 없다. (연결 그래프가 아님)
+
+            int next = 0;
+            for (int i = 0; i < rootCount; i++) {
+                int r = roots[i];
+                label[r] = sets.find(r);
+                if (label[r] == r) roots[next++] = r;
+            }
+            rootCount = next;
+            pool.invoke(new RelabelTask(label, 1, vertices + 1));
+        }
+        return total;
+    }
+
+    // best[c]를 key가 더 작을 때만 바꾼다.
+    void offer(int c, long key) {
+        long current = (long) LONGS.getVolatile(best, c);
+        while (key < current) {
+            long witness = (long) LONGS.compareAndExchange(best, c, current, key);
+            if (witness == current) return;
+            current = witness;
+        }
+    }
+
+    class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int fromChunk;
+        final int toChunk;
+
+        ScanTask(int fromChunk, int toChunk) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int mid = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ScanTask(fromChunk, mid), new ScanTask(mid, toChunk));
+                return;
+            }
+            int start = fromChunk * EDGES_PER_CHUNK;
+            int end = start + live[fromChunk];
+            int write = start;
+            for (int e = start; e < end; e++) {
+                int a = component[from[e]];
+                int b = component[to[e]];
+                if (a == b) continue;
+                if (write != e) {
+                    from[write] = from[e];
+                    to[write] = to[e];
+                    weight[write] = weight[e];
+                }
+                long key = ((long) weight[write] << 32) | write;
+                offer(a, key);
+                offer(b, key);
+                write++;
+            }
+            live[fromChunk] = write - start;
+        }
+    }
+
+    class RelabelTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int[] label;
+        final int fromVertex;
+        final int toVertex;
+
+        RelabelTask(int[] label, int fromVertex, int toVertex) {
+            this.label = label;
+            this.fromVertex = fromVertex;
+            this.toVertex = toVertex;
+        }
+
+        @Override
+        protected void compute() {
+            if (toVertex - fromVertex > VERTICES_PER_TASK) {
+                int mid = (fromVertex + toVertex) >>> 1;
+                invokeAll(new RelabelTask(label, fromVertex, mid), new RelabelTask(label, mid, toVertex));
+                return;
+            }
+            for (int v = fromVertex; v < toVertex; v++) {
+                component[v] = label[component[v]];
+            }
+        }
+    }
+
+    // Kruskal(정답 기준)과 비교하고 병렬도 1, 2, 4, ... 로 시간을 잰다.
+    public static void main(String[] args) {
+        Random random = new Random(1197);
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[][] cases = {{100_000, 1_000_000}, {1_000_000, 10_000_000}};
+        for (int[] c : cases) {
+            int vertices = c[0];
+            int edges = c[1];
+            int[][] graph = Kruskal.randomConnected(vertices, edges, random);
+
+            long t0 = System.nanoTime();
+            long expected = Kruskal.totalWeight(vertices, graph[0], graph[1], graph[2], edges);
+            long t1 = System.nanoTime();
+            System.out.printf("V=%d E=%d Kruskal %d ms, totalWeight=%d%n", vertices, edges, (t1 - t0) / 1_000_000, expected);
+
+            long single = 0;
+            for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                long t2 = System.nanoTime();
+                long result = totalWeight(vertices, graph[0], graph[1], graph[2], edges, pool);
+                long elapsed = System.nanoTime() - t2;
+                pool.shutdown();
+                if (parallelism == 1) single = elapsed;
+                System.out.printf("  Boruvka parallelism %d: %d ms (speedup %.2fx) same=%b%n",
+                        parallelism, elapsed / 1_000_000, (double) single / elapsed, result == expected);
+            }
+        }
+    }
+}
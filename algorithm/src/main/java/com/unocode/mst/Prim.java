@@ -0,0 +1,146 @@
+package com.unocode.mst;
+
+import java.util.Arrays;
+
+// Prim MST 두 가지
+// - dense : 인접 행렬(평탄 int[n * n]) + 배열 key, 매 단계 선형으로 최솟값을 찾는다. O(V^2), 간선 정렬이 없다.
+//           E가 V^2에 가까운 그래프에서 Kruskal(E log E)보다 빠르다.
+// - heap  : CSR 인접 리스트 + primitive long 힙 (key = weight << 32 | vertex, 지연 삭제). O(E log E)
+// 정점 번호는 Kruskal과 같이 1..V, 연결 그래프가 아니면 방문 안 된 정점에서 다시 시작해 숲의 가중치 합을 돌려준다.
+public class Prim {
+
+    static final int NO_EDGE = Integer.MAX_VALUE;
+
+    // 0-based n x n 행렬, 중복 간선은 가장 가벼운 것만 남기고 self-loop는 버린다.
+    static int[] matrix(int vertices, int[] from, int[] to, int[] weight, int edges) {
+        int[] matrix = new int[vertices * vertices];
+        Arrays.fill(matrix, NO_EDGE);
+        for (int e = 0; e < edges; e++) {
+            int a = from[e] - 1;
+            int b = to[e] - 1;
+            if (a == b) continue;
+            if (weight[e] < matrix[a * vertices + b]) {
+                matrix[a * vertices + b] = weight[e];
+                matrix[b * vertices + a] = weight[e];
+            }
+        }
+        return matrix;
+    }
+
+    static long dense(int[] matrix, int n) {
+        int[] key = new int[n];
+        boolean[] done = new boolean[n];
+        Arrays.fill(key, NO_EDGE);
+
+        long total = 0;
+        for (int step = 0; step < n; step++) {
+            int u = -1;
+            int min = NO_EDGE;
+            for (int v = 0; v < n; v++) {
+                if (!done[v] && key[v] < min) {
+                    min = key[v];
+                    u = v;
+                }
+            }
+            if (u == -1) {
+                // 남은 정점이 지금까지의 트리와 이어져 있지 않다 -> 새 트리 시작
+                for (int v = 0; v < n; v++) {
+                    if (!done[v]) {
+                        u = v;
+                        break;
+                    }
+                }
+            } else {
+                total += min;
+            }
+
+            done[u] = true;
+            int row = u * n;
+            for (int v = 0; v < n; v++) {
+                int w = matrix[row + v];
+                if (w < key[v] && !done[v]) key[v] = w;
+            }
+        }
+        return total;
+    }
+
+    static long heap(int vertices, int[] from, int[] to, int[] weight, int edges) {
+        // 무방향 CSR (정점 1..V)
+        int[] offset = new int[vertices + 2];
+        for (int e = 0; e < edges; e++) {
+            offset[from[e] + 1]++;
+            offset[to[e] + 1]++;
+        }
+        for (int v = 0; v <= vertices; v++) {
+            offset[v + 1] += offset[v];
+        }
+        int[] target = new int[offset[vertices + 1]];
+        int[] cost = new int[offset[vertices + 1]];
+        int[] cursor = Arrays.copyOf(offset, vertices + 1);
+        for (int e = 0; e < edges; e++) {
+            int a = from[e];
+            int b = to[e];
+            target[cursor[a]] = b;
+            cost[cursor[a]++] = weight[e];
+            target[cursor[b]] = a;
+            cost[cursor[b]++] = weight[e];
+        }
+
+        boolean[] done = new boolean[vertices + 1];
+        int[] key = new int[vertices + 1];
+        Arrays.fill(key, NO_EDGE);
+        long[] heap = new long[Math.max(16, offset[vertices + 1] + 1)];
+
+        long total = 0;
+        for (int root = 1; root <= vertices; root++) {
+            if (done[root]) continue;
+            done[root] = true;
+            int size = push(heap, 0, target, cost, offset, root, done, key);
+            while (size > 0) {
+                long top = heap[0];
+                size = pop(heap, size);
+                int v = (int) top;
+                if (done[v]) continue; // 더 가벼운 key로 이미 꺼낸 정점
+                done[v] = true;
+                total += (int) (top >> 32);
+                size = push(heap, size, target, cost, offset, v, done, key);
+            }
+        }
+        return total;
+    }
+
+    // u의 이웃 중 key가 줄어드는 정점만 힙에 넣는다.
+    static int push(long[] heap, int size, int[] target, int[] cost, int[] offset, int u, boolean[] done, int[] key) {
+        for (int e = offset[u]; e < offset[u + 1]; e++) {
+            int v = target[e];
+            int w = cost[e];
+            if (done[v] || w >= key[v]) continue;
+            key[v] = w;
+            long item = ((long) w << 32) | v;
+            int i = size++;
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (heap[p] <= item) break;
+                heap[i] = heap[p];
+                i = p;
+            }
+            heap[i] = item;
+        }
+        return size;
+    }
+
+    static int pop(long[] heap, int size) {
+        long last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return size;
+    }
+}
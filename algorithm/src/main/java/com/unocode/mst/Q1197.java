@@ -20,23 +20,6 @@ public class Q1197 {
         }
     }
 
-    static int[] parent;
-
-    static int find(int x) {
-        if (parent[x] == x) return x;
-        return parent[x] = find(parent[x]);
-    }
-
-    static boolean union(int a, int b) {
-        a = find(a);
-        b = find(b);
-
-        if (a == b) return false;
-
-        parent[b] = a;
-        return true;
-    }
-
     public static void main(String[] args) throws Exception {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         StringTokenizer st = new StringTokenizer(br.readLine());
@@ -44,6 +27,19 @@ public class Q1197 {
         int V = Integer.parseInt(st.nextToken());
         int E = Integer.parseInt(st.nextToken());
 
+        // 간선을 primitive 배열로 읽고, V와 E에 맞는 알고리즘(Kruskal / heap Prim / dense Prim)으로 계산한다.
+        int[] from = new int[E];
+        int[] to = new int[E];
+        int[] weight = new int[E];
+        for (int i = 0; i < E; i++) {
+            st = new StringTokenizer(br.readLine());
+            from[i] = Integer.parseInt(st.nextToken());
+            to[i] = Integer.parseInt(st.nextToken());
+            weight[i] = Integer.parseInt(st.nextToken());
+        }
+        System.out.println(MinimumSpanningTree.totalWeight(V, from, to, weight, E));
+
+        /*
         PriorityQueue<Edge> pq =
                 new PriorityQueue<>(Comparator.comparingInt(e -> e.weight));
 
@@ -56,10 +52,7 @@ public class Q1197 {
             pq.offer(new Edge(from, to, weight));
         }
 
-        parent = new int[V + 1];
-        for (int i = 1; i <= V; i++) {
-            parent[i] = i;
-        }
+        DisjointSet sets = new DisjointSet(V + 1);
 
         long totalWeight = 0;
         int edgeCount = 0;
@@ -67,12 +60,13 @@ public class Q1197 {
         while (!pq.isEmpty() && edgeCount < V - 1) {
             Edge edge = pq.poll();
 
-            if (union(edge.from, edge.to)) {
+            if (sets.union(edge.from, edge.to)) {
                 totalWeight += edge.weight;
                 edgeCount++;
             }
         }
 
         System.out.println(totalWeight);
+        */
     }
 }
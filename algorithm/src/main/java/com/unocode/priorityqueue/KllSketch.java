@@ -0,0 +1,317 @@
+package com.unocode.priorityqueue;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// KLL quantile sketch (int 값). 전체 개수와 무관하게 O(k log(n/k)) 메모리만 쓰는 근사 분위수 구조
+// level h의 원소는 가중치 2^h 를 갖는다. level이 가득 차면 정렬 후 하나 건너 하나(무작위 시작)만 위로 올린다.
+// 순위(rank) 오차는 전체 개수 n 대비 additive: |rank 오차| <= epsilon * n (높은 확률)
+// -> Q2075처럼 N*N 중 N번째로 큰 값(상위 1/N)을 물으면 epsilon * N*N 이 N보다 클 수 있다.
+//    그 꼬리 구간은 TopK(정확, O(N) 메모리)가 맞고, 이 sketch는 N*N이 수십억이라 정확 계산이 불가능할 때 쓴다.
+// 샤드별로 만든 sketch는 merge로 합칠 수 있다.
+public class KllSketch {
+
+    static final int MIN_LEVEL_CAPACITY = 8;
+    // level 용량은 위에서부터 k, k*2/3, k*(2/3)^2 ... 로 줄어든다.
+    static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    final int k;
+    int[][] levels = new int[1][];
+    int[] sizes = new int[1];
+    int numLevels = 1;
+    // 모든 level에 남아 있는 원소 수와 전체 용량 (용량은 level이 늘 때만 다시 계산)
+    int retained;
+    int totalCapacity;
+    long count;
+    long randomState;
+
+    KllSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be >= " + MIN_LEVEL_CAPACITY + ": " + k);
+        }
+        this.k = k;
+        this.levels[0] = new int[k];
+        this.randomState = 0x9E3779B97F4A7C15L ^ k;
+        this.totalCapacity = capacity(0);
+    }
+
+    // 원하는 정규화 순위 오차(예: 0.01 = 1%)에 맞는 k (DataSketches KLL의 경험식)
+    static KllSketch forRankError(double epsilon) {
+        if (epsilon <= 0 || epsilon >= 1) {
+            throw new IllegalArgumentException("epsilon must be in (0, 1): " + epsilon);
+        }
+        int k = (int) Math.ceil(Math.pow(2.296 / epsilon, 1 / 0.9723));
+        return new KllSketch(Math.max(MIN_LEVEL_CAPACITY, k));
+    }
+
+    long count() {
+        return count;
+    }
+
+    void update(int value) {
+        if (sizes[0] == levels[0].length) {
+            levels[0] = Arrays.copyOf(levels[0], levels[0].length * 2);
+        }
+        levels[0][sizes[0]++] = value;
+        retained++;
+        count++;
+        if (retained > totalCapacity) {
+            compress();
+        }
+    }
+
+    // 다른 sketch의 원소를 level별로 그대로 가져온 뒤 용량에 맞게 압축한다.
+    void merge(KllSketch other) {
+        while (numLevels < other.numLevels) {
+            addLevel();
+        }
+        for (int h = 0; h < other.numLevels; h++) {
+            append(h, other.levels[h], other.sizes[h]);
+        }
+        count += other.count;
+        compress();
+    }
+
+    // value 이하인 원소 수의 추정치
+    long rank(int value) {
+        long rank = 0;
+        for (int h = 0; h < numLevels; h++) {
+            int[] items = levels[h];
+            for (int i = 0; i < sizes[h]; i++) {
+                if (items[i] <= value) rank += 1L << h;
+            }
+        }
+        return rank;
+    }
+
+    // 작은 쪽부터 rank번째(1부터) 값의 추정치
+    int valueAtRank(long rank) {
+        if (count == 0) throw new IllegalStateException("empty");
+        long[] weighted = sortedWeightedItems();
+        long cumulative = 0;
+        for (long item : weighted) {
+            cumulative += 1L << (item & 0xFF);
+            if (cumulative >= rank) return (int) (item >> 8);
+        }
+        return (int) (weighted[weighted.length - 1] >> 8);
+    }
+
+    // 0.0 = 최솟값, 1.0 = 최댓값
+    int quantile(double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        return valueAtRank(rank);
+    }
+
+    // 큰 쪽부터 n번째 값의 추정치 (Q2075의 질의)
+    int nthLargest(long n) {
+        return valueAtRank(count - n + 1);
+    }
+
+    // (값 << 8 | level)로 묶어 정렬 -> 값 순서로 가중치를 누적할 수 있다.
+    long[] sortedWeightedItems() {
+        int total = 0;
+        for (int h = 0; h < numLevels; h++) total += sizes[h];
+        long[] weighted = new long[total];
+        int p = 0;
+        for (int h = 0; h < numLevels; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                weighted[p++] = ((long) levels[h][i] << 8) | h;
+            }
+        }
+        Arrays.sort(weighted);
+        return weighted;
+    }
+
+    int capacity(int level) {
+        int depth = numLevels - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    void compress() {
+        while (retained > totalCapacity) {
+            for (int h = 0; h < numLevels; h++) {
+                if (sizes[h] >= capacity(h)) {
+                    compact(h);
+                    break;
+                }
+            }
+        }
+    }
+
+    // level h를 정렬하고 짝수 번째 또는 홀수 번째 원소만 level h+1로 올린다. (가중치 2배)
+    void compact(int h) {
+        if (h == numLevels - 1) addLevel();
+
+        int size = sizes[h];
+        int[] items = levels[h];
+        Arrays.sort(items, 0, size);
+
+        // 홀수 개면 가장 작은 원소 하나는 남긴다.
+        int keep = size & 1;
+        int start = keep + (nextRandomBit() ? 1 : 0);
+        int promoted = (size - keep) >>> 1;
+        ensureCapacity(h + 1, sizes[h + 1] + promoted);
+        int[] upper = levels[h + 1];
+        int upperSize = sizes[h + 1];
+        for (int i = start; i < size; i += 2) {
+            upper[upperSize++] = items[i];
+        }
+        retained -= size - keep - (upperSize - sizes[h + 1]);
+        sizes[h + 1] = upperSize;
+        sizes[h] = keep;
+    }
+
+    void append(int h, int[] items, int size) {
+        ensureCapacity(h, sizes[h] + size);
+        System.arraycopy(items, 0, levels[h], sizes[h], size);
+        sizes[h] += size;
+        retained += size;
+    }
+
+    void ensureCapacity(int h, int required) {
+        if (levels[h].length < required) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(required, levels[h].length * 2));
+        }
+    }
+
+    void addLevel() {
+        levels = Arrays.copyOf(levels, numLevels + 1);
+        sizes = Arrays.copyOf(sizes, numLevels + 1);
+        levels[numLevels] = new int[MIN_LEVEL_CAPACITY];
+        numLevels++;
+
+        totalCapacity = 0;
+        for (int h = 0; h < numLevels; h++) {
+            totalCapacity += capacity(h);
+        }
+    }
+
+    boolean nextRandomBit() {
+        // xorshift64 - 압축마다 Random 객체를 거치지 않는다.
+        long x = randomState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        randomState = x;
+        return (x & 1) != 0;
+    }
+
+    // values를 샤드로 나눠 각자 sketch를 만들고 합친다.
+    static KllSketch parallel(int[] values, int k, ForkJoinPool pool) {
+        return pool.invoke(new ShardSketch(values, k, 0, values.length));
+    }
+
+    static class ShardSketch extends RecursiveTask<KllSketch> {
+        private static final long serialVersionUID = 1L;
+
+        static final int THRESHOLD = 1 << 18;
+
+        final int[] values;
+        final int k;
+        final int from;
+        final int to;
+
+        ShardSketch(int[] values, int k, int from, int to) {
+            this.values = values;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected KllSketch compute() {
+            if (to - from <= THRESHOLD) {
+                KllSketch sketch = new KllSketch(k);
+                sketch.randomState ^= from;
+                for (int i = from; i < to; i++) {
+                    sketch.update(values[i]);
+                }
+                return sketch;
+            }
+            int mid = (from + to) >>> 1;
+            ShardSketch left = new ShardSketch(values, k, from, mid);
+            left.fork();
+            KllSketch right = new ShardSketch(values, k, mid, to).compute();
+            KllSketch merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+
+    // Q2075 형태 입력에서 PriorityQueue 정답과 sketch 답을 비교해 순위 오차를 출력한다.
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1500;
+        double epsilon = args.length > 1 ? Double.parseDouble(args[1]) : 0.01;
+
+        Random random = new Random(2075);
+        int[] values = new int[n * n];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(2_000_000_001) - 1_000_000_000;
+        }
+
+        long t0 = System.nanoTime();
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
+        for (int number : values) {
+            if (priorityQueue.size() < n) {
+                priorityQueue.offer(number);
+            } else if (number > priorityQueue.peek()) {
+                priorityQueue.poll();
+                priorityQueue.offer(number);
+            }
+        }
+        int exact = priorityQueue.peek();
+
+        long t1 = System.nanoTime();
+        KllSketch sketch = forRankError(epsilon);
+        for (int value : values) {
+            sketch.update(value);
+        }
+        int approximate = sketch.nthLargest(n);
+
+        long t2 = System.nanoTime();
+        KllSketch sharded = parallel(values, sketch.k, ForkJoinPool.commonPool());
+        int shardedApproximate = sharded.nthLargest(n);
+        long t3 = System.nanoTime();
+
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        System.out.printf("n=%d total=%d k=%d epsilon=%.4f%n", n, values.length, sketch.k, epsilon);
+        System.out.printf("exact (PriorityQueue) %d in %d ms%n", exact, (t1 - t0) / 1_000_000);
+        System.out.printf("sketch %d in %d ms, rank error %.5f%n", approximate, (t2 - t1) / 1_000_000,
+                rankError(sorted, approximate, values.length - n + 1));
+        System.out.printf("sharded sketch %d in %d ms, rank error %.5f%n", shardedApproximate, (t3 - t2) / 1_000_000,
+                rankError(sorted, shardedApproximate, values.length - n + 1));
+
+        double maxError = 0;
+        for (int q = 1; q < 100; q++) {
+            long rank = (long) values.length * q / 100;
+            maxError = Math.max(maxError, rankError(sorted, sharded.valueAtRank(rank), rank));
+        }
+        System.out.printf("max rank error over percentiles %.5f (bound %.4f)%n", maxError, epsilon);
+    }
+
+    // 추정값의 실제 순위 구간과 목표 순위의 거리 / 전체 개수
+    static double rankError(int[] sorted, int value, long targetRank) {
+        long low = lowerBound(sorted, value) + 1;
+        long high = lowerBound(sorted, value + 1L);
+        long distance = targetRank < low ? low - targetRank : targetRank > high ? targetRank - high : 0;
+        return (double) distance / sorted.length;
+    }
+
+    static int lowerBound(int[] sorted, long value) {
+        int left = 0;
+        int right = sorted.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (sorted[mid] < value) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+}
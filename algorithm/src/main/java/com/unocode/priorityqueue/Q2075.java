@@ -15,6 +15,18 @@ public class Q2075 {
     public static void main(String[] args) throws IOException {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         int N = Integer.parseInt(br.readLine());
+        // PriorityQueue<Integer>는 N*N개 값을 모두 박싱하므로 primitive heap(TopK)으로 대체
+        TopK topK = new TopK(N); //가장 큰 N개만 유지, heap의 최솟값이 N번째로 큰 수.
+        for (int i = 0 ; i < N ; i++) {
+            StringTokenizer st = new StringTokenizer(br.readLine(), " ");
+            for (int j = 0 ; j < N ; j++) {
+                topK.offer(Integer.parseInt(st.nextToken()));
+            }
+        }
+
+        System.out.println(topK.min());
+
+        /*
         PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(); //오름차순 정렬 큐, 작은 수가 peek, poll 대상.
         for (int i = 0 ; i < N ; i++) {
             StringTokenizer st = new StringTokenizer(br.readLine(), " ");
@@ -30,5 +42,6 @@ public class Q2075 {
         }
 
         System.out.println(priorityQueue.peek());
+        */
     }
 }
@@ -0,0 +1,234 @@
+package com.unocode.priorityqueue;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// 고정 용량 primitive min-heap으로 스트림에서 가장 큰 K개를 유지한다. (PriorityQueue<Integer> 박싱 제거)
+// heap[0]이 K개 중 가장 작은 값 = 지금까지 본 값 중 K번째로 큰 값
+// int 값도 long으로 넓혀 같은 heap에 담는다.
+// - merge      : 스레드별 부분 top-K를 합쳐 병렬 수집에 사용
+// - nthLargestColumnSorted: Q2075처럼 열마다 아래로 갈수록 커지는 입력이면 맨 아래 행부터 k-way merge
+public class TopK {
+
+    final long[] heap;
+    int size;
+
+    TopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.heap = new long[capacity];
+    }
+
+    int capacity() {
+        return heap.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == heap.length;
+    }
+
+    // 가득 찬 상태라면 K번째로 큰 값
+    long min() {
+        if (size == 0) throw new IllegalStateException("empty");
+        return heap[0];
+    }
+
+    void offer(long value) {
+        if (size < heap.length) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        } else if (value > heap[0]) {
+            // poll + offer 대신 루트를 바로 교체하고 한 번만 내린다.
+            siftDown(value);
+        }
+    }
+
+    void offerAll(int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            offer(values[i]);
+        }
+    }
+
+    // 다른 부분 top-K의 원소를 모두 흡수한다. 용량이 다르면 이쪽 용량 기준
+    void merge(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+    }
+
+    // 큰 값부터 정렬된 사본
+    long[] toSortedDescending() {
+        long[] result = Arrays.copyOf(heap, size);
+        Arrays.sort(result);
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            long tmp = result[i];
+            result[i] = result[j];
+            result[j] = tmp;
+        }
+        return result;
+    }
+
+    private void siftDown(long value) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (value <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    // values를 구간별로 나눠 각자 top-K를 만든 뒤 합친다.
+    static TopK parallel(int[] values, int k, ForkJoinPool pool) {
+        return pool.invoke(new PartialTopK(values, k, 0, values.length));
+    }
+
+    static class PartialTopK extends RecursiveTask<TopK> {
+        private static final long serialVersionUID = 1L;
+
+        static final int THRESHOLD = 1 << 16;
+
+        final int[] values;
+        final int k;
+        final int from;
+        final int to;
+
+        PartialTopK(int[] values, int k, int from, int to) {
+            this.values = values;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= THRESHOLD) {
+                TopK topK = new TopK(k);
+                topK.offerAll(values, from, to);
+                return topK;
+            }
+            int mid = (from + to) >>> 1;
+            PartialTopK left = new PartialTopK(values, k, from, mid);
+            left.fork();
+            TopK right = new PartialTopK(values, k, mid, to).compute();
+            TopK merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+
+    // grid는 n x n 행 우선 배열, 각 열은 위에서 아래로 증가한다. (Q2075 조건)
+    // 맨 아래 행 n개를 max-heap에 넣고, 꺼낸 칸의 바로 위 칸을 넣는 것을 k번 반복한다. O(k log n)
+    // heap 원소는 (값 << 32 | 칸 번호)로 묶은 long 하나 -> 객체 없음
+    static int nthLargestColumnSorted(int[] grid, int n, int k) {
+        long[] maxHeap = new long[n];
+        int size = 0;
+        for (int col = 0; col < n; col++) {
+            int cell = (n - 1) * n + col;
+            size = pushMax(maxHeap, size, pack(grid[cell], cell));
+        }
+
+        for (int popped = 1; ; popped++) {
+            long top = maxHeap[0];
+            if (popped == k) return (int) (top >> 32);
+
+            int cell = (int) top;
+            size = popMax(maxHeap, size);
+            if (cell >= n) {
+                size = pushMax(maxHeap, size, pack(grid[cell - n], cell - n));
+            }
+        }
+    }
+
+    static long pack(int value, int cell) {
+        return ((long) value << 32) | (cell & 0xFFFFFFFFL);
+    }
+
+    static int pushMax(long[] heap, int size, long value) {
+        int i = size;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        return size + 1;
+    }
+
+    static int popMax(long[] heap, int size) {
+        long value = heap[--size];
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (value >= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+        return size;
+    }
+
+    // Q2075 최대 입력(N = 1500)으로 PriorityQueue / TopK / 열 정렬 merge / 병렬 TopK 비교
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1500;
+        Random random = new Random(2075);
+        int[] grid = new int[n * n];
+        for (int col = 0; col < n; col++) {
+            int value = -1_000_000_000 + random.nextInt(1000);
+            for (int row = 0; row < n; row++) {
+                value += 1 + random.nextInt(1_000_000_000 / n);
+                grid[row * n + col] = value;
+            }
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
+            for (int number : grid) {
+                if (priorityQueue.size() < n) {
+                    priorityQueue.offer(number);
+                } else if (number > priorityQueue.peek()) {
+                    priorityQueue.poll();
+                    priorityQueue.offer(number);
+                }
+            }
+            int expected = priorityQueue.peek();
+
+            long t1 = System.nanoTime();
+            TopK topK = new TopK(n);
+            topK.offerAll(grid, 0, grid.length);
+            long streaming = topK.min();
+
+            long t2 = System.nanoTime();
+            int columnSorted = nthLargestColumnSorted(grid, n, n);
+
+            long t3 = System.nanoTime();
+            long parallel = parallel(grid, n, pool).min();
+
+            long t4 = System.nanoTime();
+            System.out.printf("PriorityQueue %d ms, TopK %d ms, column merge %d ms, parallel TopK %d ms, same=%b%n",
+                    (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, (t3 - t2) / 1_000_000, (t4 - t3) / 1_000_000,
+                    expected == streaming && expected == columnSorted && expected == parallel);
+        }
+    }
+}
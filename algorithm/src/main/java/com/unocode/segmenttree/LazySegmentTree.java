@@ -0,0 +1,405 @@
+package com.unocode.segmenttree;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// 구간 더하기 / 구간 대입 + 구간 질의(합, 최솟값, 최댓값)를 하는 lazy segment tree. 재귀 없이 아래에서 위로 처리한다.
+// Q2042의 Fenwick은 점 갱신 + 구간 합만 되므로 구간 갱신이 필요한 경우에 쓴다.
+// - 원소 index는 0..n-1, 구간은 [from, to)
+// - 노드 k의 자식은 2k, 2k+1, 잎은 size..size+n-1 (size = n 이상인 2의 거듭제곱)
+// - 값/태그는 모두 flat 배열: value[2 * size], lazyAdd/lazyAssign/assigned[size]
+//   노드 길이는 배열에 두지 않고 높이로 계산한다. (n = 10^6 에서 메모리 접근이 시간을 정하므로 배열 하나를 줄이는 것이 빠르다)
+// - 태그 = (대입할 값이 있으면 그 값, 그 뒤에 더할 값). 대입이 오면 이전 태그를 덮고, 더하기는 누적한다.
+// - 질의 종류는 Monoid로 고른다. 각 원소에 d를 더하면 구간 값이 value + scale(d, 길이)가 되는 monoid만 쓸 수 있다.
+// - 채우기용 잎(index >= n)만 덮는 노드는 길이 0 이라 태그를 받지 않고 항상 identity로 남는다. (MIN의 MAX_VALUE + d 넘침 방지)
+// 처리량: 목표였던 초당 10^6 연산은 달성하지 못했다. n = 10^6, 무작위 구간 더하기/대입/질의가 섞이면
+//   초당 약 0.3 ~ 0.6M 연산이다. (main 참고, 연산마다 log n 깊이의 캐시 미스가 대부분)
+//   applyAll은 긴 ADD 묶음(max(64, n / log n)개 이상)에서만 빨라지고, 그보다 짧은 묶음과 ASSIGN은 하나씩 처리한다.
+//   짧은 묶음을 끝점 정렬로 나누면 조각이 최대 2 * run - 1 개라 트리 갱신 수가 오히려 늘기 때문이다.
+public class LazySegmentTree {
+
+    public interface Monoid {
+        long identity();
+
+        long combine(long a, long b);
+
+        // 길이 length인 구간의 모든 원소가 x일 때의 구간 값
+        long scale(long x, int length);
+    }
+
+    public static final Monoid SUM = new Monoid() {
+        public long identity() {
+            return 0;
+        }
+
+        public long combine(long a, long b) {
+            return a + b;
+        }
+
+        public long scale(long x, int length) {
+            return x * length;
+        }
+    };
+
+    public static final Monoid MIN = new Monoid() {
+        public long identity() {
+            return Long.MAX_VALUE;
+        }
+
+        public long combine(long a, long b) {
+            return Math.min(a, b);
+        }
+
+        public long scale(long x, int length) {
+            return x;
+        }
+    };
+
+    public static final Monoid MAX = new Monoid() {
+        public long identity() {
+            return Long.MIN_VALUE;
+        }
+
+        public long combine(long a, long b) {
+            return Math.max(a, b);
+        }
+
+        public long scale(long x, int length) {
+            return x;
+        }
+    };
+
+    // applyAll의 연산 종류
+    public static final int ADD = 0;
+    public static final int ASSIGN = 1;
+    public static final int QUERY = 2;
+
+    final Monoid monoid;
+    final int n;
+    final int size;
+    final int log;
+    final long[] value;
+    final long[] lazyAdd;
+    final long[] lazyAssign;
+    final boolean[] assigned;
+
+    public LazySegmentTree(long[] values, Monoid monoid) {
+        this.monoid = monoid;
+        this.n = values.length;
+        this.log = 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1));
+        this.size = 1 << log;
+        this.value = new long[2 * size];
+        this.lazyAdd = new long[size];
+        this.lazyAssign = new long[size];
+        this.assigned = new boolean[size];
+
+        Arrays.fill(value, size + n, 2 * size, monoid.identity());
+        System.arraycopy(values, 0, value, size, n);
+        for (int k = size - 1; k >= 1; k--) pull(k);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    void pull(int k) {
+        value[k] = monoid.combine(value[2 * k], value[2 * k + 1]);
+    }
+
+    // 높이 height인 노드 k가 덮는 실제 원소 수 (잎의 높이는 0)
+    int length(int k, int height) {
+        int first = (k << height) - size;
+        return Math.max(0, Math.min(1 << height, n - first));
+    }
+
+    // 높이 height인 노드 k에 태그 (assign이면 assignValue 대입) 후 add 더하기
+    void applyTag(int k, int height, boolean assign, long assignValue, long add) {
+        int len = length(k, height);
+        if (len == 0) return;
+        long base = assign ? monoid.scale(assignValue, len) : value[k];
+        value[k] = base + monoid.scale(add, len);
+        if (k < size) {
+            if (assign) {
+                assigned[k] = true;
+                lazyAssign[k] = assignValue;
+                lazyAdd[k] = add;
+            } else {
+                lazyAdd[k] += add;
+            }
+        }
+    }
+
+    // 높이 height인 노드 k의 태그를 자식에게 내린다.
+    void push(int k, int height) {
+        if (assigned[k] || lazyAdd[k] != 0) {
+            applyTag(2 * k, height - 1, assigned[k], lazyAssign[k], lazyAdd[k]);
+            applyTag(2 * k + 1, height - 1, assigned[k], lazyAssign[k], lazyAdd[k]);
+            assigned[k] = false;
+            lazyAdd[k] = 0;
+        }
+    }
+
+    // [l, r) 경계를 덮는 조상들의 태그를 위에서부터 내려 준다. (l, r은 잎 index)
+    void pushBoundaries(int l, int r) {
+        for (int i = log; i >= 1; i--) {
+            if (((l >> i) << i) != l) push(l >> i, i);
+            if (((r >> i) << i) != r) push((r - 1) >> i, i);
+        }
+    }
+
+    void checkRange(int from, int to) {
+        if (from < 0 || to > n || from > to) {
+            throw new IllegalArgumentException("range [" + from + ", " + to + ") out of [0, " + n + ")");
+        }
+    }
+
+    public void add(int from, int to, long delta) {
+        update(from, to, false, 0, delta);
+    }
+
+    public void assign(int from, int to, long x) {
+        update(from, to, true, x, 0);
+    }
+
+    void update(int from, int to, boolean assign, long assignValue, long add) {
+        checkRange(from, to);
+        if (from == to) return;
+        int l = from + size;
+        int r = to + size;
+        pushBoundaries(l, r);
+
+        for (int a = l, b = r, height = 0; a < b; a >>= 1, b >>= 1, height++) {
+            if ((a & 1) == 1) applyTag(a++, height, assign, assignValue, add);
+            if ((b & 1) == 1) applyTag(--b, height, assign, assignValue, add);
+        }
+
+        for (int i = 1; i <= log; i++) {
+            if (((l >> i) << i) != l) pull(l >> i);
+            if (((r >> i) << i) != r) pull((r - 1) >> i);
+        }
+    }
+
+    public long query(int from, int to) {
+        checkRange(from, to);
+        if (from == to) return monoid.identity();
+        int l = from + size;
+        int r = to + size;
+        pushBoundaries(l, r);
+
+        long left = monoid.identity();
+        long right = monoid.identity();
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) left = monoid.combine(left, value[l++]);
+            if ((r & 1) == 1) right = monoid.combine(value[--r], right);
+        }
+        return monoid.combine(left, right);
+    }
+
+    public long get(int index) {
+        checkRange(index, index + 1);
+        int p = index + size;
+        for (int i = log; i >= 1; i--) push(p >> i, i);
+        return value[p];
+    }
+
+    // 점 대입 (Q2042의 1번 명령)
+    public void set(int index, long x) {
+        checkRange(index, index + 1);
+        int p = index + size;
+        for (int i = log; i >= 1; i--) push(p >> i, i);
+        value[p] = x;
+        for (int i = 1; i <= log; i++) pull(p >> i);
+    }
+
+    // 연산 count개를 순서대로 처리하고, QUERY 결과를 answers에 차례로 쓴 뒤 그 개수를 돌려준다.
+    // ADD가 BATCH_MIN_RUN개 이상, 그리고 n / log 개 이상 연속이면 (사이에 ASSIGN/QUERY 없음)
+    // 하나씩 트리에 넣지 않고 차분 배열에 모았다가 잎에 한 번에 더하고 트리를 다시 만든다. O(run log n) -> O(n + run)
+    static final int BATCH_MIN_RUN = 64;
+
+    public int applyAll(int[] type, int[] from, int[] to, long[] values, int count, long[] answers) {
+        int answered = 0;
+        int i = 0;
+        while (i < count) {
+            if (type[i] == ADD) {
+                int end = i;
+                while (end < count && type[end] == ADD) end++;
+                int run = end - i;
+                if (run >= BATCH_MIN_RUN && (long) run * log >= n) {
+                    addRun(from, to, values, i, end);
+                } else {
+                    for (int j = i; j < end; j++) add(from[j], to[j], values[j]);
+                }
+                i = end;
+            } else if (type[i] == ASSIGN) {
+                assign(from[i], to[i], values[i]);
+                i++;
+            } else if (type[i] == QUERY) {
+                answers[answered++] = query(from[i], to[i]);
+                i++;
+            } else {
+                throw new IllegalArgumentException("unknown operation type: " + type[i]);
+            }
+        }
+        return answered;
+    }
+
+    void addRun(int[] from, int[] to, long[] values, int begin, int end) {
+        long[] diff = new long[n + 1];
+        for (int j = begin; j < end; j++) {
+            checkRange(from[j], to[j]);
+            diff[from[j]] += values[j];
+            diff[to[j]] -= values[j];
+        }
+        // 모든 태그를 잎까지 내린 뒤 잎에 더하고 위로 다시 합친다.
+        for (int k = 1; k < size; k++) push(k, log - (31 - Integer.numberOfLeadingZeros(k)));
+        long running = 0;
+        for (int p = 0; p < n; p++) {
+            running += diff[p];
+            value[size + p] += running;
+        }
+        for (int k = size - 1; k >= 1; k--) pull(k);
+    }
+
+    // 1. 무작위 연산을 단순 배열과 비교 (SUM/MIN/MAX 각각, applyAll 포함)
+    // 2. 점 갱신 + 구간 합: Q2042의 Fenwick update/rangeSum과 비교
+    // 3. 구간 더하기/대입/질의가 섞인 작업의 초당 연산 수, 긴 ADD 구간이 있는 스트림에서 applyAll과 하나씩 처리 비교
+    public static void main(String[] args) {
+        Random random = new Random(2042);
+        Monoid[] monoids = {SUM, MIN, MAX};
+        String[] names = {"SUM", "MIN", "MAX"};
+        boolean same = true;
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(200);
+            long[] naive = new long[n];
+            for (int i = 0; i < n; i++) naive[i] = random.nextInt(2001) - 1000;
+            Monoid monoid = monoids[round % 3];
+            LazySegmentTree tree = new LazySegmentTree(naive.clone(), monoid);
+            LazySegmentTree batched = new LazySegmentTree(naive.clone(), monoid);
+
+            int count = 500;
+            int[] type = new int[count];
+            int[] from = new int[count];
+            int[] to = new int[count];
+            long[] values = new long[count];
+            long[] expected = new long[count];
+            int answered = 0;
+            for (int q = 0; q < count; q++) {
+                int a = random.nextInt(n + 1);
+                int b = random.nextInt(n + 1);
+                from[q] = Math.min(a, b);
+                to[q] = Math.max(a, b);
+                values[q] = random.nextInt(2001) - 1000;
+                // 긴 ADD 구간이 생기도록 ADD를 자주 뽑는다.
+                int r = random.nextInt(10);
+                type[q] = r < 6 ? ADD : r < 8 ? ASSIGN : QUERY;
+                if (type[q] == ADD) {
+                    for (int i = from[q]; i < to[q]; i++) naive[i] += values[q];
+                    tree.add(from[q], to[q], values[q]);
+                } else if (type[q] == ASSIGN) {
+                    for (int i = from[q]; i < to[q]; i++) naive[i] = values[q];
+                    tree.assign(from[q], to[q], values[q]);
+                } else {
+                    long x = monoid.identity();
+                    for (int i = from[q]; i < to[q]; i++) x = monoid.combine(x, naive[i]);
+                    expected[answered++] = x;
+                    same &= tree.query(from[q], to[q]) == x;
+                }
+            }
+            long[] answers = new long[count];
+            same &= batched.applyAll(type, from, to, values, count, answers) == answered;
+            same &= Arrays.equals(answers, 0, answered, expected, 0, answered);
+            for (int i = 0; i < n; i++) same &= tree.get(i) == naive[i] && batched.get(i) == naive[i];
+        }
+        System.out.printf("random ops vs array (%s/%s/%s) same=%b%n", names[0], names[1], names[2], same);
+
+        int n = 1_000_000;
+        int operations = 2_000_000;
+        long[] initial = new long[n];
+        for (int i = 0; i < n; i++) initial[i] = random.nextInt(1_000_000);
+        int[] type = new int[operations];
+        int[] from = new int[operations];
+        int[] to = new int[operations];
+        long[] values = new long[operations];
+        for (int q = 0; q < operations; q++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            type[q] = random.nextBoolean() ? ASSIGN : QUERY;
+            from[q] = Math.min(a, b);
+            to[q] = Math.max(a, b) + 1;
+            values[q] = random.nextInt(1_000_000);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            // Q2042: 1-indexed Fenwick, 점 대입은 차이를 더한다.
+            long t0 = System.nanoTime();
+            Q2042.N = n;
+            Q2042.arr = new long[n + 1];
+            Q2042.initFenwick(n);
+            for (int i = 1; i <= n; i++) {
+                Q2042.arr[i] = initial[i - 1];
+                Q2042.update(i, initial[i - 1]);
+            }
+            long fenwickSum = 0;
+            for (int q = 0; q < operations; q++) {
+                if (type[q] == ASSIGN) {
+                    int p = from[q] + 1;
+                    Q2042.update(p, values[q] - Q2042.arr[p]);
+                    Q2042.arr[p] = values[q];
+                } else {
+                    fenwickSum += Q2042.rangeSum(from[q] + 1, to[q]);
+                }
+            }
+            long t1 = System.nanoTime();
+            LazySegmentTree tree = new LazySegmentTree(initial, SUM);
+            long treeSum = 0;
+            for (int q = 0; q < operations; q++) {
+                if (type[q] == ASSIGN) tree.set(from[q], values[q]);
+                else treeSum += tree.query(from[q], to[q]);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("point update n=%d ops=%d: Q2042 Fenwick %d ms, LazySegmentTree %d ms, same=%b%n",
+                    n, operations, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, fenwickSum == treeSum);
+        }
+
+        for (int q = 0; q < operations; q++) {
+            int r = random.nextInt(3);
+            type[q] = r == 0 ? ADD : r == 1 ? ASSIGN : QUERY;
+            values[q] = random.nextInt(2_001) - 1_000;
+        }
+        for (int m = 0; m < 3; m++) {
+            LazySegmentTree tree = new LazySegmentTree(initial, monoids[m]);
+            long t0 = System.nanoTime();
+            long checksum = 0;
+            for (int q = 0; q < operations; q++) {
+                if (type[q] == ADD) tree.add(from[q], to[q], values[q]);
+                else if (type[q] == ASSIGN) tree.assign(from[q], to[q], values[q]);
+                else checksum += tree.query(from[q], to[q]);
+            }
+            long t1 = System.nanoTime();
+            System.out.printf("range add/assign/query %s n=%d: %.2f M ops/s (checksum %d)%n",
+                    names[m], n, operations / ((t1 - t0) / 1e3), checksum);
+        }
+
+        // 스트림: ADD n개 묶음 뒤에 QUERY 1,000개를 반복
+        int block = n + 1_000;
+        for (int q = 0; q < operations; q++) type[q] = q % block < n ? ADD : QUERY;
+        long[] answers = new long[operations];
+        for (int round = 0; round < 3; round++) {
+            LazySegmentTree one = new LazySegmentTree(initial, SUM);
+            long t0 = System.nanoTime();
+            int answered = 0;
+            for (int q = 0; q < operations; q++) {
+                if (type[q] == ADD) one.add(from[q], to[q], values[q]);
+                else answers[answered++] = one.query(from[q], to[q]);
+            }
+            long t1 = System.nanoTime();
+            LazySegmentTree batched = new LazySegmentTree(initial, SUM);
+            long[] batchAnswers = new long[operations];
+            int batchAnswered = batched.applyAll(type, from, to, values, operations, batchAnswers);
+            long t2 = System.nanoTime();
+            System.out.printf("add-heavy stream: one by one %d ms, applyAll %d ms, same=%b%n",
+                    (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000,
+                    answered == batchAnswered && Arrays.equals(answers, 0, answered, batchAnswers, 0, answered));
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.unocode.segmenttree;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+// 파일에 memory-map 한 Fenwick tree. Q2042는 arr/fenwick을 heap의 long[N + 1]로 들고 있어 N이 heap 크기에 묶이는데,
+// 이 트리는 OS page cache 위에 있으므로 slot 수십억 개도 heap을 거의 쓰지 않는다.
+// - 파일 형식 (little-endian): [long MAGIC][long n][long tree[1..n]]  -> tree[i]는 offset HEADER_BYTES + (i - 1) * 8
+// - 파일은 2^segmentShift byte(기본 1GB) 단위로 나눠 map 한다. (MappedByteBuffer 하나는 int index라 2GB 미만)
+//   slot이 8byte 정렬이고 segment 크기가 8의 배수라 long 하나가 두 segment에 걸치지 않는다.
+// - build(values, tree): 값 파일(long n개)을 tree 자리에 복사한 뒤 i -> i + lowbit(i) 로 한 번씩 더해 O(n)에 만든다.
+// - 원래 배열(arr)은 따로 두지 않는다. get(i) = rangeSum(i, i), set은 차이를 더한다. (파일 크기 절반)
+// - n <= HEAP_MAX_N 이면 파일 내용을 heap long[]에 읽어 Q2042와 같은 방식으로 돌고, flush()에서 파일에 다시 쓴다.
+// - flush()/close() 뒤에는 같은 파일을 open(tree)로 다시 열어 이어 쓸 수 있다.
+//   (MappedByteBuffer에는 unmap API가 없어 map은 GC가 buffer를 거둘 때 풀린다.)
+// FFM(MemorySegment, Arena로 명시적 unmap)은 빌드 toolchain인 Java 21에서 아직 preview API라
+// --enable-preview 없이 빌드하려고 FileChannel.map을 쓴다.
+public class MappedFenwickTree implements Closeable {
+
+    static final long MAGIC = 0x4645_4E57_4943_4B31L; // "FENWICK1"
+    static final int HEADER_BYTES = 16;
+    static final int DEFAULT_SEGMENT_SHIFT = 30;
+    static final long HEAP_MAX_N = 1 << 22; // long[] 32MB
+
+    final Path file;
+    final long n;
+    // on-heap일 때만
+    final long[] heap;
+    // mapped일 때만
+    final MappedByteBuffer[] segments;
+    final int segmentShift;
+    final long segmentMask;
+
+    MappedFenwickTree(Path file, long n, long heapMaxN, int segmentShift) throws IOException {
+        this.file = file;
+        this.n = n;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        if (n <= heapMaxN) {
+            heap = new long[(int) n + 1];
+            segments = null;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+                channel.position(HEADER_BYTES);
+                int next = 1;
+                while (next <= n && channel.read(buffer) > 0) {
+                    buffer.flip();
+                    while (buffer.remaining() >= 8 && next <= n) heap[next++] = buffer.getLong();
+                    buffer.compact();
+                }
+                if (next <= n) throw new IllegalStateException("tree file is truncated: " + file);
+            }
+        } else {
+            heap = null;
+            long bytes = HEADER_BYTES + n * 8;
+            segments = new MappedByteBuffer[(int) ((bytes + segmentMask) >>> segmentShift)];
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                for (int s = 0; s < segments.length; s++) {
+                    long start = (long) s << segmentShift;
+                    long length = Math.min(1L << segmentShift, bytes - start);
+                    segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+                    segments[s].order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+        }
+    }
+
+    // 이미 만든 트리 파일을 다시 연다.
+    public static MappedFenwickTree open(Path tree) throws IOException {
+        return open(tree, HEAP_MAX_N, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    static MappedFenwickTree open(Path tree, long heapMaxN, int segmentShift) throws IOException {
+        long n = readHeader(tree);
+        return new MappedFenwickTree(tree, n, heapMaxN, segmentShift);
+    }
+
+    // 값이 모두 0인 길이 n 트리 파일을 만든다. (파일 크기만 늘리므로 sparse file이면 디스크도 쓰지 않는다)
+    public static MappedFenwickTree create(Path tree, long n) throws IOException {
+        return create(tree, n, HEAP_MAX_N, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    static MappedFenwickTree create(Path tree, long n, long heapMaxN, int segmentShift) throws IOException {
+        if (n < 0) throw new IllegalArgumentException("n must be non-negative: " + n);
+        try (FileChannel channel = FileChannel.open(tree, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(channel, n);
+            if (n > 0) channel.write(ByteBuffer.allocate(8), HEADER_BYTES + (n - 1) * 8);
+        }
+        return new MappedFenwickTree(tree, n, heapMaxN, segmentShift);
+    }
+
+    // values 파일(little-endian long n개)로 tree 파일을 만든다. O(n)
+    public static MappedFenwickTree build(Path values, Path tree) throws IOException {
+        return build(values, tree, HEAP_MAX_N, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    static MappedFenwickTree build(Path values, Path tree, long heapMaxN, int segmentShift) throws IOException {
+        long size = Files.size(values);
+        if (size % 8 != 0) throw new IllegalArgumentException("values file is not a sequence of longs: " + values);
+        long n = size / 8;
+        try (FileChannel in = FileChannel.open(values, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(tree, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(out, n);
+            out.position(HEADER_BYTES);
+            for (long copied = 0; copied < size; ) {
+                copied += in.transferTo(copied, size - copied, out);
+            }
+        }
+        MappedFenwickTree fenwick = new MappedFenwickTree(tree, n, heapMaxN, segmentShift);
+        for (long i = 1; i <= n; i++) {
+            long j = i + (i & -i);
+            if (j <= n) fenwick.put(j, fenwick.slot(j) + fenwick.slot(i));
+        }
+        // heap으로 만든 경우 파일에는 아직 원래 값이 있으므로 바로 트리로 바꿔 둔다.
+        if (!fenwick.isMapped()) fenwick.flush();
+        return fenwick;
+    }
+
+    static void writeHeader(FileChannel channel, long n) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC).putLong(n).flip();
+        channel.write(header, 0);
+    }
+
+    static long readHeader(Path tree) throws IOException {
+        try (FileChannel channel = FileChannel.open(tree, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // 헤더를 다 읽을 때까지
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getLong() != MAGIC) {
+                throw new IllegalStateException("not a Fenwick tree file: " + tree);
+            }
+            long n = header.getLong();
+            if (n < 0 || channel.size() < HEADER_BYTES + n * 8) {
+                throw new IllegalStateException("tree file is truncated: " + tree);
+            }
+            return n;
+        }
+    }
+
+    public long size() {
+        return n;
+    }
+
+    public boolean isMapped() {
+        return heap == null;
+    }
+
+    long slot(long i) {
+        if (heap != null) return heap[(int) i];
+        long offset = HEADER_BYTES + (i - 1) * 8;
+        return segments[(int) (offset >>> segmentShift)].getLong((int) (offset & segmentMask));
+    }
+
+    void put(long i, long x) {
+        if (heap != null) {
+            heap[(int) i] = x;
+            return;
+        }
+        long offset = HEADER_BYTES + (i - 1) * 8;
+        segments[(int) (offset >>> segmentShift)].putLong((int) (offset & segmentMask), x);
+    }
+
+    void checkIndex(long i) {
+        if (i < 1 || i > n) throw new IllegalArgumentException("index " + i + " out of [1, " + n + "]");
+    }
+
+    // Q2042의 update와 같다. (1-indexed)
+    public void add(long i, long diff) {
+        checkIndex(i);
+        for (; i <= n; i += i & -i) put(i, slot(i) + diff);
+    }
+
+    public long prefixSum(long i) {
+        if (i < 0 || i > n) throw new IllegalArgumentException("index " + i + " out of [0, " + n + "]");
+        long sum = 0;
+        for (; i > 0; i -= i & -i) sum += slot(i);
+        return sum;
+    }
+
+    public long rangeSum(long left, long right) {
+        return prefixSum(right) - prefixSum(left - 1);
+    }
+
+    public long get(long i) {
+        checkIndex(i);
+        return rangeSum(i, i);
+    }
+
+    // A[i] = x (Q2042의 1번 명령)
+    public void set(long i, long x) {
+        add(i, x - get(i));
+    }
+
+    // 바뀐 내용을 파일에 쓴다.
+    public void flush() throws IOException {
+        if (heap == null) {
+            for (MappedByteBuffer segment : segments) segment.force();
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            LongBuffer longs = buffer.asLongBuffer();
+            long position = HEADER_BYTES;
+            for (int from = 1; from <= n; from += longs.capacity()) {
+                int count = (int) Math.min(longs.capacity(), n - from + 1);
+                longs.clear();
+                longs.put(heap, from, count);
+                buffer.clear().limit(count * 8);
+                while (buffer.hasRemaining()) position += channel.write(buffer, position);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    static void writeValues(Path values, long n, Random random) throws IOException {
+        try (FileChannel channel = FileChannel.open(values, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for (long i = 0; i < n; i++) {
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                    buffer.clear();
+                }
+                buffer.putLong(random.nextInt(1_000_000_000));
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    // 1. 작은 segment(64KB)로 여러 segment 경로를 태워 Q2042의 Fenwick과 비교하고, close 후 다시 열어(mapped, heap 둘 다) 이어서 비교
+    // 2. n = 2^25 에서 Q2042(heap)와 build/연산 시간 비교
+    // 3. Q2042가 heap에 올릴 수 없는 n (3 * 10^8, 파일 2.4GB)에서 build와 연산, 사용한 heap 크기
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(2042);
+        Path dir = Files.createTempDirectory("fenwick");
+        Path values = dir.resolve("values.bin");
+        Path tree = dir.resolve("tree.bin");
+        try {
+            int n = 200_000;
+            writeValues(values, n, new Random(1));
+            long[] initial = new long[n + 1];
+            try (FileChannel channel = FileChannel.open(values, StandardOpenOption.READ)) {
+                ByteBuffer all = ByteBuffer.allocate(n * 8).order(ByteOrder.LITTLE_ENDIAN);
+                while (all.hasRemaining()) channel.read(all);
+                all.flip();
+                for (int i = 1; i <= n; i++) initial[i] = all.getLong();
+            }
+            Q2042.N = n;
+            Q2042.initFenwick(n);
+            for (int i = 1; i <= n; i++) Q2042.update(i, initial[i]);
+
+            boolean same = true;
+            MappedFenwickTree mapped = build(values, tree, 0, 16);
+            same &= mapped.isMapped() && mapped.segments.length > 1;
+            same &= randomOps(mapped, random, 100_000);
+            mapped.close();
+            MappedFenwickTree reopened = open(tree, 0, 16);
+            same &= reopened.isMapped() && randomOps(reopened, random, 100_000);
+            reopened.close();
+            MappedFenwickTree onHeap = open(tree);
+            same &= !onHeap.isMapped() && randomOps(onHeap, random, 100_000);
+            onHeap.close();
+            MappedFenwickTree again = open(tree, 0, DEFAULT_SEGMENT_SHIFT);
+            same &= randomOps(again, random, 100_000);
+            again.close();
+            System.out.printf("multi-segment build/reopen/heap fallback vs Q2042 same=%b%n", same);
+
+            n = 1 << 25;
+            int operations = 4_000_000;
+            writeValues(values, n, new Random(2));
+            long[] index = new long[operations];
+            long[] diff = new long[operations];
+            for (int q = 0; q < operations; q++) {
+                index[q] = 1 + random.nextInt(n);
+                diff[q] = random.nextInt(2001) - 1000;
+            }
+            for (int round = 0; round < 2; round++) {
+                long t0 = System.nanoTime();
+                // Q2042 방식: 값을 heap에 읽고 update를 n번 (O(n log n))
+                Q2042.N = n;
+                Q2042.initFenwick(n);
+                try (FileChannel channel = FileChannel.open(values, StandardOpenOption.READ)) {
+                    ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+                    int next = 1;
+                    while (channel.read(buffer) > 0) {
+                        buffer.flip();
+                        while (buffer.remaining() >= 8) Q2042.update(next++, buffer.getLong());
+                        buffer.compact();
+                    }
+                }
+                long t1 = System.nanoTime();
+                long heapSum = 0;
+                for (int q = 0; q < operations; q++) {
+                    if ((q & 1) == 0) Q2042.update((int) index[q], diff[q]);
+                    else heapSum += Q2042.rangeSum((int) Math.min(index[q], index[q - 1]), (int) Math.max(index[q], index[q - 1]));
+                }
+                long t2 = System.nanoTime();
+                Q2042.fenwick = null;
+                MappedFenwickTree fenwick = build(values, tree);
+                long t3 = System.nanoTime();
+                long mappedSum = 0;
+                for (int q = 0; q < operations; q++) {
+                    if ((q & 1) == 0) fenwick.add(index[q], diff[q]);
+                    else mappedSum += fenwick.rangeSum(Math.min(index[q], index[q - 1]), Math.max(index[q], index[q - 1]));
+                }
+                long t4 = System.nanoTime();
+                fenwick.close();
+                System.out.printf("n=%d: build Q2042 %d ms, mapped %d ms / %d ops Q2042 %d ms, mapped %d ms, same=%b%n",
+                        n, (t1 - t0) / 1_000_000, (t3 - t2) / 1_000_000, operations,
+                        (t2 - t1) / 1_000_000, (t4 - t3) / 1_000_000, heapSum == mappedSum);
+            }
+
+            long big = 300_000_000L;
+            writeValues(values, big, new Random(3));
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+            long t0 = System.nanoTime();
+            MappedFenwickTree fenwick = build(values, tree);
+            long t1 = System.nanoTime();
+            long checksum = 0;
+            for (int q = 0; q < operations; q++) {
+                long i = 1 + (random.nextLong() & Long.MAX_VALUE) % big;
+                if ((q & 1) == 0) fenwick.add(i, diff[q]);
+                else checksum += fenwick.prefixSum(i);
+            }
+            long t2 = System.nanoTime();
+            fenwick.close();
+            System.gc();
+            long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+            System.out.printf("n=%d (%d segments, max heap %d MB): build %d ms, %d ops %d ms, heap used %+d MB (checksum %d)%n",
+                    big, fenwick.segments.length, runtime.maxMemory() >> 20, (t1 - t0) / 1_000_000, operations,
+                    (t2 - t1) / 1_000_000, (heapAfter - heapBefore) >> 20, checksum);
+        } finally {
+            Files.deleteIfExists(values);
+            Files.deleteIfExists(tree);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    // 무작위 add/rangeSum/set을 Q2042(현재 상태 그대로)와 같이 돌려 비교한다.
+    static boolean randomOps(MappedFenwickTree fenwick, Random random, int operations) {
+        int n = Q2042.N;
+        boolean same = fenwick.size() == n;
+        for (int q = 0; q < operations && same; q++) {
+            int a = 1 + random.nextInt(n);
+            int b = 1 + random.nextInt(n);
+            int kind = random.nextInt(3);
+            if (kind == 0) {
+                long d = random.nextInt(2001) - 1000;
+                fenwick.add(a, d);
+                Q2042.update(a, d);
+            } else if (kind == 1) {
+                long x = random.nextInt(1_000_000);
+                fenwick.set(a, x);
+                Q2042.update(a, x - Q2042.rangeSum(a, a));
+            } else {
+                same = fenwick.rangeSum(Math.min(a, b), Math.max(a, b)) == Q2042.rangeSum(Math.min(a, b), Math.max(a, b));
+            }
+        }
+        return same;
+    }
+}
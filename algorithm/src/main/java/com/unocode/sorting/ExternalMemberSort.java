@@ -0,0 +1,512 @@
+package com.unocode.sorting;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// 힙보다 큰 "나이 이름" 레코드를 Q10814와 같은 stable 순서로 정렬하는 외부 정렬
+// 1. 메모리 예산만큼 레코드를 읽어 IntKeySort로 stable 정렬 후 run 파일로 내보낸다. (FileChannel)
+// 2. run들을 primitive 힙으로 k-way merge 한다. 나이가 같으면 먼저 만들어진 run이 우선 -> stable 유지
+// run 수가 maxFanIn을 넘으면 인접한 run끼리 먼저 합쳐 단계를 줄인다.
+// 메모리 사용량은 memoryBytes로 제한된다. 청크 배열은 run을 다 만든 뒤 놓아 주고, merge 버퍼는 그 다음에 잡는다.
+// (두 단계가 겹치지 않는다. merge 버퍼는 run당 최소 64KB, 모두 heap ByteBuffer)
+// merge 버퍼가 run당 64KB 밑으로 내려가지 않으므로 fan-in은 memoryBytes / 64KB - 2 로 줄여 쓴다.
+// -> (fan-in + 1) * 버퍼 크기 <= memoryBytes
+public class ExternalMemberSort {
+
+    // run 레코드 하나(최대 6 + 32767 bytes)가 reader 버퍼에 항상 들어가도록 잡은 최소 크기
+    static final int MIN_BUFFER_BYTES = 64 * 1024;
+    // 레코드 하나당 배열 비용(나이/이름 위치/길이 + 정렬용 index, radix 버퍼)을 넉넉히 잡은 값
+    static final int RECORD_OVERHEAD_BYTES = 32;
+
+    final Path tempDir;
+    final long memoryBytes;
+    final int maxFanIn;
+
+    // 청크 버퍼: 이름은 하나의 byte arena에, 나머지는 병렬 int 배열에 둔다. run을 만드는 동안에만 잡는다.
+    byte[] arena;
+    int[] ages;
+    int[] nameStart;
+    int[] nameLength;
+
+    ExternalMemberSort(Path tempDir, long memoryBytes, int maxFanIn) {
+        if (memoryBytes < 4L * MIN_BUFFER_BYTES) {
+            throw new IllegalArgumentException("memoryBytes too small: " + memoryBytes);
+        }
+        if (maxFanIn < 2) {
+            throw new IllegalArgumentException("maxFanIn must be >= 2: " + maxFanIn);
+        }
+        this.tempDir = tempDir;
+        this.memoryBytes = memoryBytes;
+        this.maxFanIn = (int) Math.min(maxFanIn, memoryBytes / MIN_BUFFER_BYTES - 2);
+    }
+
+    // 예산의 절반은 이름 arena, 나머지 절반은 레코드당 배열(RECORD_OVERHEAD_BYTES)에 쓴다.
+    void allocateChunk() {
+        long half = Math.min(memoryBytes / 2, Integer.MAX_VALUE - 8);
+        int capacity = (int) Math.max(1, half / RECORD_OVERHEAD_BYTES);
+        arena = new byte[(int) half];
+        ages = new int[capacity];
+        nameStart = new int[capacity];
+        nameLength = new int[capacity];
+    }
+
+    void releaseChunk() {
+        arena = null;
+        ages = null;
+        nameStart = null;
+        nameLength = null;
+    }
+
+    // records: 헤더 없는 "나이 이름" 레코드 스트림 (공백/줄바꿈 구분)
+    void sort(InputStream records, OutputStream out) throws IOException {
+        RecordParser parser = new RecordParser(records);
+        List<Path> runs = new ArrayList<>();
+        allocateChunk();
+        try {
+            while (true) {
+                int count = fillChunk(parser);
+                if (count == 0) break;
+
+                int[] order = IntKeySort.sortOrder(ages, count);
+                if (runs.isEmpty() && parser.exhausted) {
+                    // 한 청크에 모두 들어왔다면 run 파일 없이 바로 출력
+                    writeText(order, count, out);
+                    return;
+                }
+                runs.add(spill(order, count));
+                if (parser.exhausted) break;
+            }
+            // merge 버퍼를 잡기 전에 청크 배열을 놓아 준다.
+            releaseChunk();
+
+            while (runs.size() > maxFanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += maxFanIn) {
+                    List<Path> group = runs.subList(from, Math.min(runs.size(), from + maxFanIn));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path target = Files.createTempFile(tempDir, "member-run", ".bin");
+                    try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                        RunWriter writer = new RunWriter(channel, mergeBufferBytes(group.size() + 1));
+                        merge(group, writer);
+                        writer.flush();
+                    }
+                    deleteAll(group);
+                    merged.add(target);
+                }
+                runs = merged;
+            }
+
+            TextWriter writer = new TextWriter(out, mergeBufferBytes(runs.size() + 1));
+            merge(runs, writer);
+            writer.flush();
+        } finally {
+            releaseChunk();
+            deleteAll(runs);
+        }
+    }
+
+    int fillChunk(RecordParser parser) throws IOException {
+        int count = 0;
+        int used = 0;
+        while (count < ages.length && parser.next()) {
+            if (used + parser.nameLength > arena.length) {
+                if (count == 0) {
+                    throw new IllegalStateException("name longer than chunk arena: " + parser.nameLength);
+                }
+                parser.pushBack();
+                break;
+            }
+            ages[count] = parser.age;
+            nameStart[count] = used;
+            nameLength[count] = parser.nameLength;
+            System.arraycopy(parser.name, 0, arena, used, parser.nameLength);
+            used += parser.nameLength;
+            count++;
+        }
+        return count;
+    }
+
+    Path spill(int[] order, int count) throws IOException {
+        Path run = Files.createTempFile(tempDir, "member-run", ".bin");
+        try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            RunWriter writer = new RunWriter(channel, MIN_BUFFER_BYTES);
+            for (int i = 0; i < count; i++) {
+                int r = order[i];
+                writer.write(ages[r], arena, nameStart[r], nameLength[r]);
+            }
+            writer.flush();
+        }
+        return run;
+    }
+
+    void writeText(int[] order, int count, OutputStream out) throws IOException {
+        TextWriter writer = new TextWriter(out, MIN_BUFFER_BYTES);
+        for (int i = 0; i < count; i++) {
+            int r = order[i];
+            writer.write(ages[r], arena, nameStart[r], nameLength[r]);
+        }
+        writer.flush();
+    }
+
+    // merge 단계에서는 청크 배열을 이미 놓았으므로 예산의 절반을 reader/writer 버퍼에 나눠 준다.
+    // (reader 버퍼는 레코드 하나를 통째로 담아야 하므로 최소 MIN_BUFFER_BYTES)
+    int mergeBufferBytes(int buffers) {
+        long each = memoryBytes / 2 / buffers;
+        return (int) Math.max(MIN_BUFFER_BYTES, Math.min(each, 1 << 24));
+    }
+
+    void merge(List<Path> runs, RecordSink sink) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        int[] heap = new int[k];
+        int size = 0;
+        int bufferBytes = mergeBufferBytes(k + 1);
+        try {
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(FileChannel.open(runs.get(i), StandardOpenOption.READ), bufferBytes);
+                if (readers[i].next()) {
+                    heap[size++] = i;
+                    siftUp(heap, size - 1, readers);
+                }
+            }
+
+            while (size > 0) {
+                RunReader top = readers[heap[0]];
+                sink.write(top.age, top.name, 0, top.nameLength);
+                if (!top.next()) {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, size, readers);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.channel.close();
+            }
+        }
+    }
+
+    // 나이가 같으면 run 번호가 작은 쪽(입력에서 먼저 나온 쪽)이 우선
+    static boolean less(int a, int b, RunReader[] readers) {
+        int ageA = readers[a].age;
+        int ageB = readers[b].age;
+        return ageA < ageB || (ageA == ageB && a < b);
+    }
+
+    static void siftUp(int[] heap, int i, RunReader[] readers) {
+        int node = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(node, heap[parent], readers)) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = node;
+    }
+
+    static void siftDown(int[] heap, int size, RunReader[] readers) {
+        if (size == 0) return;
+        int node = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && less(heap[child + 1], heap[child], readers)) child++;
+            if (!less(heap[child], node, readers)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = node;
+    }
+
+    static void deleteAll(List<Path> paths) throws IOException {
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    interface RecordSink {
+        void write(int age, byte[] name, int offset, int length) throws IOException;
+    }
+
+    // run 파일 레코드 형식: [int 나이][short 이름 길이][이름 bytes]
+    static class RunWriter implements RecordSink {
+        final FileChannel channel;
+        final ByteBuffer buffer;
+
+        RunWriter(FileChannel channel, int bufferBytes) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferBytes);
+        }
+
+        @Override
+        public void write(int age, byte[] name, int offset, int length) throws IOException {
+            if (buffer.remaining() < 6 + length) flush();
+            buffer.putInt(age).putShort((short) length).put(name, offset, length);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    static class RunReader {
+        final FileChannel channel;
+        final ByteBuffer buffer;
+        byte[] name = new byte[64];
+        int nameLength;
+        int age;
+
+        RunReader(FileChannel channel, int bufferBytes) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferBytes);
+            this.buffer.flip();
+        }
+
+        boolean next() throws IOException {
+            if (!ensure(6)) return false;
+            age = buffer.getInt();
+            nameLength = buffer.getShort() & 0xFFFF;
+            if (!ensure(nameLength)) {
+                throw new IOException("truncated run file");
+            }
+            if (name.length < nameLength) name = new byte[Math.max(nameLength, name.length * 2)];
+            buffer.get(name, 0, nameLength);
+            return true;
+        }
+
+        boolean ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return true;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            return buffer.remaining() >= bytes;
+        }
+    }
+
+    // 최종 출력: Q10814와 같은 "나이 이름\n"
+    static class TextWriter implements RecordSink {
+        final OutputStream out;
+        final byte[] buffer;
+        int position;
+
+        TextWriter(OutputStream out, int bufferBytes) {
+            this.out = out;
+            this.buffer = new byte[bufferBytes];
+        }
+
+        @Override
+        public void write(int age, byte[] name, int offset, int length) throws IOException {
+            if (buffer.length - position < 13 + length) {
+                flush();
+                if (buffer.length < 13 + length) {
+                    out.write(Integer.toString(age).getBytes());
+                    out.write(' ');
+                    out.write(name, offset, length);
+                    out.write('\n');
+                    return;
+                }
+            }
+            position = writeInt(age, buffer, position);
+            buffer[position++] = ' ';
+            System.arraycopy(name, offset, buffer, position, length);
+            position += length;
+            buffer[position++] = '\n';
+        }
+
+        static int writeInt(int value, byte[] target, int position) {
+            if (value < 0) {
+                target[position++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (int v = value; v >= 10; v /= 10) digits++;
+            for (int i = position + digits - 1; i >= position; i--) {
+                target[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            return position + digits;
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+            out.flush();
+        }
+    }
+
+    // 문자열을 만들지 않고 byte 단위로 "나이 이름"을 읽는다.
+    static class RecordParser {
+        final InputStream in;
+        final byte[] buffer = new byte[1 << 16];
+        int position;
+        int limit;
+        boolean exhausted;
+        boolean pushedBack;
+
+        int age;
+        byte[] name = new byte[64];
+        int nameLength;
+
+        RecordParser(InputStream in) {
+            this.in = in;
+        }
+
+        boolean next() throws IOException {
+            if (pushedBack) {
+                pushedBack = false;
+                return true;
+            }
+            int c = skipWhitespace();
+            if (c < 0) {
+                exhausted = true;
+                return false;
+            }
+
+            boolean negative = c == '-';
+            if (negative) c = read();
+            int value = 0;
+            while (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                c = read();
+            }
+            age = negative ? -value : value;
+
+            c = skipWhitespace();
+            nameLength = 0;
+            while (c > ' ') {
+                if (nameLength == name.length) {
+                    byte[] grown = new byte[name.length * 2];
+                    System.arraycopy(name, 0, grown, 0, nameLength);
+                    name = grown;
+                }
+                name[nameLength++] = (byte) c;
+                c = read();
+            }
+            if (nameLength > Short.MAX_VALUE) {
+                throw new IOException("name too long: " + nameLength);
+            }
+            return true;
+        }
+
+        // 청크가 가득 차서 못 넣은 레코드를 다음 청크의 첫 레코드로 돌려준다.
+        void pushBack() {
+            pushedBack = true;
+        }
+
+        int skipWhitespace() throws IOException {
+            int c = read();
+            while (c >= 0 && c <= ' ') c = read();
+            return c;
+        }
+
+        int read() throws IOException {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            // 0x80 이상 (UTF-8 이름) 이 음수가 되어 EOF/구분자로 읽히지 않도록 unsigned로 돌려준다.
+            return buffer[position++] & 0xFF;
+        }
+    }
+
+    // Q10814 입력(첫 줄 N) 형식. 메모리 예산은 -Dmemory=바이트 로 조절한다.
+    // -Dcheck=true 이면 입력 대신 selfCheck를 돌린다.
+    public static void main(String[] args) throws IOException {
+        long memoryBytes = Long.getLong("memory", 64L * 1024 * 1024);
+        int maxFanIn = Integer.getInteger("fanIn", 64);
+        Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+        if (Boolean.getBoolean("check")) {
+            System.out.printf("self check same=%b%n", selfCheck(tempDir));
+            return;
+        }
+
+        InputStream in = new BufferedInputStream(System.in);
+        int c = in.read();
+        while (c >= 0 && c != '\n') c = in.read(); // 헤더 N은 EOF로 대신한다.
+
+        OutputStream out = new BufferedOutputStream(System.out);
+        new ExternalMemberSort(tempDir, memoryBytes, maxFanIn).sort(in, out);
+        out.flush();
+    }
+
+    // 비 ASCII(UTF-8 한글, 0xFF byte) 이름을 섞은 입력을 메모리 정렬 결과와 비교한다.
+    // 예산을 최소로 잡고 fan-in 2로 돌려 run 여러 개와 중간 merge 단계를 모두 거친다.
+    static boolean selfCheck(Path tempDir) throws IOException {
+        // merge 한 번에 잡는 버퍼(run reader fan-in개 + writer 1개)가 예산을 넘지 않아야 한다.
+        boolean same = true;
+        for (long memory : new long[]{4L * MIN_BUFFER_BYTES, 1L << 20, 64L << 20, 1L << 32}) {
+            for (int fanIn : new int[]{2, 16, 64, 1024}) {
+                ExternalMemberSort sorter = new ExternalMemberSort(tempDir, memory, fanIn);
+                int buffers = sorter.maxFanIn + 1;
+                same &= (long) sorter.mergeBufferBytes(buffers) * buffers <= memory;
+            }
+        }
+
+        same &= sortsLikeQ10814(tempDir, new String[][]{{"21", "Junkyu"}, {"21", "김철"}, {"20", "Sunyoung"}},
+                4L * MIN_BUFFER_BYTES, 2);
+
+        Random random = new Random(10814);
+        String[] syllables = {"a", "Z", "김", "철", "수", "é", "ß", "日本"};
+        String[][] members = new String[200_000][];
+        for (int i = 0; i < members.length; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int k = 1 + random.nextInt(6); k > 0; k--) name.append(syllables[random.nextInt(syllables.length)]);
+            members[i] = new String[]{Integer.toString(1 + random.nextInt(200)), name.toString()};
+        }
+        same &= sortsLikeQ10814(tempDir, members, 4L * MIN_BUFFER_BYTES, 2);
+
+        // UTF-8이 아닌 0xFF byte도 -1(EOF)로 읽히면 안 된다.
+        byte[] raw = {'3', ' ', 'a', (byte) 0xFF, 'b', '\n', '1', ' ', 'c', '\n'};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ExternalMemberSort(tempDir, 4L * MIN_BUFFER_BYTES, 2).sort(new ByteArrayInputStream(raw), out);
+        byte[] expected = {'1', ' ', 'c', '\n', '3', ' ', 'a', (byte) 0xFF, 'b', '\n'};
+        same &= Arrays.equals(out.toByteArray(), expected);
+        return same;
+    }
+
+    static boolean sortsLikeQ10814(Path tempDir, String[][] members, long memoryBytes, int maxFanIn) throws IOException {
+        int[] ages = new int[members.length];
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < members.length; i++) {
+            ages[i] = Integer.parseInt(members[i][0]);
+            input.append(members[i][0]).append(' ').append(members[i][1]).append('\n');
+        }
+        StringBuilder expected = new StringBuilder();
+        for (int i : IntKeySort.sortOrder(ages, members.length)) {
+            expected.append(members[i][0]).append(' ').append(members[i][1]).append('\n');
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ExternalMemberSort(tempDir, memoryBytes, maxFanIn).sort(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8).equals(expected.toString());
+    }
+}
@@ -0,0 +1,147 @@
+package com.unocode.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+// int key 기준 stable 정렬. (key, payload index)를 병렬 primitive 배열로 다루고,
+// 결과는 정렬된 순서의 payload index 배열(order)로 돌려준다. payload(이름 등)는 옮기지 않는다.
+// - counting sort : key 범위가 작을 때 O(N + K), Q10814의 나이(1~200)가 대표적
+// - LSD radix sort: 일반 int key, 8비트씩 4번 counting pass -> O(4N)
+// 두 방식 모두 같은 key끼리는 입력 순서를 유지한다. (stable)
+public class IntKeySort {
+
+    static final int RADIX_BITS = 8;
+    static final int RADIX = 1 << RADIX_BITS;
+    static final int RADIX_MASK = RADIX - 1;
+
+    // key 범위(max - min + 1)가 이 값 이하이고 N보다 크게 넘치지 않으면 counting sort 사용
+    // "크게 넘치지 않음" = counting O(N + K)가 radix 4 pass O(4N + 4 * RADIX)보다 싸다: K <= 3N + 4 * RADIX
+    // (N = 1 이면 K가 1024를 넘을 때부터 radix, 64K짜리 count 배열을 만들지 않는다)
+    static final int MAX_COUNTING_RANGE = 1 << 16;
+
+    public static int[] sortOrder(int[] keys, int n) {
+        if (n == 0) return new int[0];
+
+        int min = keys[0];
+        int max = keys[0];
+        for (int i = 1; i < n; i++) {
+            if (keys[i] < min) min = keys[i];
+            if (keys[i] > max) max = keys[i];
+        }
+
+        long range = (long) max - min + 1;
+        if (range <= MAX_COUNTING_RANGE && range <= 3L * n + 4 * RADIX) {
+            return countingSortOrder(keys, n, min, max);
+        }
+        return radixSortOrder(keys, n);
+    }
+
+    // min <= keys[i] <= max 를 만족해야 한다.
+    static int[] countingSortOrder(int[] keys, int n, int min, int max) {
+        int[] start = new int[max - min + 2];
+        for (int i = 0; i < n; i++) {
+            start[keys[i] - min + 1]++;
+        }
+        for (int k = 1; k < start.length; k++) {
+            start[k] += start[k - 1];
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[start[keys[i] - min]++] = i;
+        }
+        return order;
+    }
+
+    // 음수 key는 부호 비트를 뒤집어 unsigned 순서로 맞춘 뒤 하위 바이트부터 정렬한다.
+    static int[] radixSortOrder(int[] keys, int n) {
+        int[] order = new int[n];
+        int[] buffer = new int[n];
+        int[] sortKey = new int[n];
+        int[] keyBuffer = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            sortKey[i] = keys[i] ^ Integer.MIN_VALUE;
+        }
+
+        int[] count = new int[RADIX + 1];
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[((sortKey[i] >>> shift) & RADIX_MASK) + 1]++;
+            }
+            // 모든 key가 이 자리에서 같은 값이면 pass를 건너뛴다.
+            if (count[((sortKey[0] >>> shift) & RADIX_MASK) + 1] == n) continue;
+
+            for (int d = 1; d <= RADIX; d++) {
+                count[d] += count[d - 1];
+            }
+            for (int i = 0; i < n; i++) {
+                int pos = count[(sortKey[i] >>> shift) & RADIX_MASK]++;
+                buffer[pos] = order[i];
+                keyBuffer[pos] = sortKey[i];
+            }
+
+            int[] tmp = order;
+            order = buffer;
+            buffer = tmp;
+            tmp = sortKey;
+            sortKey = keyBuffer;
+            keyBuffer = tmp;
+        }
+        return order;
+    }
+
+    // Q10814 입력 형태(나이 1~200, 이름)로 TreeMap / List.sort / counting / radix 비교
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(10814);
+        int[] ages = new int[n];
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            ages[i] = random.nextInt(200) + 1;
+            names[i] = "name" + random.nextInt(1_000_000);
+        }
+
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            Map<Integer, List<String>> treeMap = new TreeMap<>();
+            for (int i = 0; i < n; i++) {
+                treeMap.computeIfAbsent(ages[i], k -> new ArrayList<>()).add(names[i]);
+            }
+            List<String> byTreeMap = new ArrayList<>(n);
+            for (List<String> group : treeMap.values()) {
+                byTreeMap.addAll(group);
+            }
+
+            long t1 = System.nanoTime();
+            List<Q10814.Person> list = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                list.add(new Q10814.Person(ages[i], names[i]));
+            }
+            list.sort((a, b) -> Integer.compare(a.age, b.age));
+
+            long t2 = System.nanoTime();
+            int[] counting = sortOrder(ages, n);
+
+            long t3 = System.nanoTime();
+            int[] radix = radixSortOrder(ages, n);
+
+            long t4 = System.nanoTime();
+
+            boolean same = true;
+            for (int i = 0; i < n && same; i++) {
+                same = counting[i] == radix[i]
+                        && names[counting[i]].equals(byTreeMap.get(i))
+                        && list.get(i).name.equals(byTreeMap.get(i));
+            }
+            System.out.printf("TreeMap %d ms, List.sort %d ms, counting %d ms, radix %d ms, same=%b%n",
+                    (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000,
+                    (t3 - t2) / 1_000_000, (t4 - t3) / 1_000_000, same);
+        }
+    }
+}
@@ -3,12 +3,7 @@ package com.unocode.sorting;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
 import java.util.StringTokenizer;
-import java.util.TreeMap;
 
 /*
 자료구조	    내부 구조
@@ -25,6 +20,28 @@ remove	    O(1)	    O(log N)
 public class Q10814 {
 
     public static void main(String[] args) throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        int numberOfPeople = Integer.parseInt(br.readLine().trim());
+
+        // 나이는 1~200의 작은 정수이므로 TreeMap 대신 counting sort로 stable 정렬한다.
+        // (나이, 입력 순서)를 primitive 배열로 두고 정렬된 index 순서만 만든다.
+        int[] ages = new int[numberOfPeople];
+        String[] names = new String[numberOfPeople];
+        for (int i = 0 ; i < numberOfPeople ; i++) {
+            StringTokenizer st = new StringTokenizer(br.readLine(), " ");
+            ages[i] = Integer.parseInt(st.nextToken());
+            names[i] = st.nextToken();
+        }
+
+        int[] order = IntKeySort.sortOrder(ages, numberOfPeople);
+        StringBuilder sb = new StringBuilder();
+        for (int i : order) {
+            sb.append(ages[i]).append(" ").append(names[i]).append("\n");
+        }
+        System.out.print(sb);
+
+        /*
+        // TreeMap 사용 - 나이마다 리스트를 만들고 put마다 O(log N)
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         StringTokenizer st = new StringTokenizer(br.readLine());
 
@@ -46,7 +63,7 @@ public class Q10814 {
             }
         }
         System.out.print(sb);
-
+        */
 
 
         /*
@@ -13,6 +13,15 @@ public class Q1806 {
         int length = Integer.parseInt(st.nextToken());
         int targetSum = Integer.parseInt(st.nextToken());
 
+        // 배열을 저장하지 않고 읽으면서 창만 유지한다. (ShortestSubarray.Stream)
+        ShortestSubarray.Stream stream = new ShortestSubarray.Stream(targetSum);
+        st = new StringTokenizer(br.readLine(), " ");
+        for (int i = 0 ; i < length ; i++) {
+            stream.push(Integer.parseInt(st.nextToken()));
+        }
+        System.out.println(stream.shortest());
+
+        /*
         int[] array = new int[length];
 
         st = new StringTokenizer(br.readLine(), " ");
@@ -32,5 +41,6 @@ public class Q1806 {
         }
 
         System.out.println(minLength == Integer.MAX_VALUE ? "0" : minLength);
+        */
     }
 }
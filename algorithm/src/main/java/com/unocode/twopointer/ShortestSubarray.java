@@ -0,0 +1,228 @@
+package com.unocode.twopointer;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// 합이 S 이상인 가장 짧은 연속 부분 수열의 길이 (Q1806)를 같은 배열에 대해 여러 S로 물어볼 때 쓰는 엔진
+// 값은 모두 양수여야 한다. (Q1806: 10,000 이하의 자연수)
+// - 누적합 prefix는 long[] (합이 int를 넘어도 된다)
+// - best[L] = 길이 L 구간 합의 최댓값. 값이 양수라 L이 늘면 best[L]도 커지므로
+//   답 = best[L] >= S 인 가장 작은 L -> L에 대한 이분 탐색
+// - best[L] 하나는 O(n) 루프(분기 없는 뺄셈 + max)로 필요할 때만 계산하고 캐시한다.
+// - 여러 S는 오프라인으로 정렬해서 답의 단조성(S가 크면 답도 길다)으로 탐색 범위를 나눠 준다.
+//   가운데 S의 답을 구한 뒤 작은 S들은 [lo, 답], 큰 S들은 [답, hi] 에서만 찾는다.
+// 비용: 질의당 O(n)보다 빠르지 않다. (질의당 sublinear라는 처음 목표는 이 엔진의 범위에서 뺐다)
+//   캐시에 없는 best[L]은 매번 O(n) 전체 훑기이고,
+//   Q개를 함께 물으면 질의당 약 log(n / Q) 번 (n = 100,000: Q = 10 -> 8번, Q = 10,000 -> 2번) 훑는다.
+//   질의를 O(log n)으로 만들려면 best[L] 전체(답이 바뀌는 문턱값 표)가 필요한데, 임의의 양수 배열에서
+//   모든 L의 best[L]을 구하는 것은 (max, +) 합성곱과 같은 문제라 O(n^2)보다 크게 빠른 방법이 알려져 있지 않다.
+//   S를 정렬한 오프라인 sweep도 S가 문턱값마다 하나씩 있으면 best[] 전체를 구하는 셈이라 O(n + Q log n)은 안 된다.
+//   빨라지는 이유는 훑기 한 번이 분기 없는 뺄셈 + max라 두 포인터 한 번보다 훨씬 싸기 때문이다. (main 참고)
+//   그래서 질의 하나(shortest(long))는 log n 번 훑지 않고 prefix 위의 두 포인터 한 번으로 답한다.
+// S는 양수여야 한다. (S <= 0 이면 빈 구간도 답이 되어 의미가 없으므로 IllegalArgumentException)
+// 한 번만 물어볼 때는 배열을 저장하지 않는 Stream(창 안의 값만 보관)을 쓴다.
+public class ShortestSubarray {
+
+    final int n;
+    final long[] prefix;
+    // 0 = 아직 계산 안 함 (값이 양수라 실제 최댓값은 항상 1 이상)
+    final long[] best;
+    int evaluations;
+
+    ShortestSubarray(int[] values, int n) {
+        this.n = n;
+        this.prefix = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            if (values[i] <= 0) throw new IllegalArgumentException("values must be positive: " + values[i]);
+            prefix[i + 1] = prefix[i] + values[i];
+        }
+        this.best = new long[n + 1];
+    }
+
+    long maxWindowSum(int length) {
+        long cached = best[length];
+        if (cached != 0) return cached;
+        long max = 0;
+        for (int i = 0, j = length; j <= n; i++, j++) {
+            long sum = prefix[j] - prefix[i];
+            max = sum > max ? sum : max;
+        }
+        evaluations++;
+        return best[length] = max;
+    }
+
+    // 질의 하나: prefix 위의 두 포인터 O(n) 한 번. 답이 없으면 0 (Q1806 출력과 같음)
+    int shortest(long target) {
+        checkTarget(target);
+        if (n == 0 || prefix[n] < target) return 0;
+        int answer = n;
+        for (int start = 0, end = 1; end <= n; end++) {
+            while (prefix[end] - prefix[start] >= target) {
+                answer = Math.min(answer, end - start);
+                start++;
+            }
+        }
+        return answer;
+    }
+
+    static void checkTarget(long target) {
+        if (target <= 0) throw new IllegalArgumentException("target must be positive: " + target);
+    }
+
+    // best[L] >= target 인 가장 작은 L, [lo, hi] 안에 답이 있어야 한다.
+    int search(long target, int lo, int hi) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxWindowSum(mid) >= target) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    // 여러 S를 한 번에 답한다. 결과는 targets와 같은 순서
+    int[] shortest(long[] targets) {
+        for (long target : targets) checkTarget(target);
+        long[] sorted = targets.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[distinct++] = sorted[i];
+        }
+
+        // 답이 있는 S는 prefix[n] 이하인 앞쪽 구간
+        int feasible = distinct;
+        while (feasible > 0 && (n == 0 || sorted[feasible - 1] > prefix[n])) feasible--;
+        int[] sortedAnswers = new int[distinct];
+        if (feasible == 1) {
+            // 하나뿐이면 log n 번 훑는 것보다 두 포인터 한 번이 싸다.
+            sortedAnswers[0] = shortest(sorted[0]);
+        } else {
+            answerRange(sorted, sortedAnswers, 0, feasible, 1, n);
+        }
+
+        int[] answers = new int[targets.length];
+        for (int q = 0; q < targets.length; q++) {
+            answers[q] = sortedAnswers[Arrays.binarySearch(sorted, 0, distinct, targets[q])];
+        }
+        return answers;
+    }
+
+    void answerRange(long[] sorted, int[] answers, int from, int to, int lo, int hi) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int answer = search(sorted[mid], lo, hi);
+            answers[mid] = answer;
+            // 왼쪽은 재귀, 오른쪽은 반복으로 처리해 재귀 깊이를 log Q 로 제한
+            answerRange(sorted, answers, from, mid, lo, answer);
+            from = mid + 1;
+            lo = answer;
+        }
+    }
+
+    // 한 번의 질의를 입력을 읽으면서 처리한다. 현재 창의 값만 원형 버퍼에 보관하고,
+    // 최솟값 best를 찾은 뒤에는 창 길이를 best - 1 미만으로 유지하므로 버퍼가 그 이상 커지지 않는다.
+    static class Stream {
+        final long target;
+        int[] window = new int[16];
+        int head;
+        int size;
+        long sum;
+        int best = Integer.MAX_VALUE;
+
+        Stream(long target) {
+            checkTarget(target);
+            this.target = target;
+        }
+
+        void push(int value) {
+            if (size == window.length) grow();
+            window[(head + size) % window.length] = value;
+            size++;
+            sum += value;
+
+            while (sum >= target && size > 0) {
+                if (size < best) best = size;
+                popFront();
+            }
+            // 이미 찾은 길이 이상인 창은 더 짧은 답이 될 수 없다.
+            while (size >= best - 1 && size > 0) popFront();
+        }
+
+        void popFront() {
+            sum -= window[head];
+            head = (head + 1) % window.length;
+            size--;
+        }
+
+        void grow() {
+            int[] grown = new int[window.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = window[(head + i) % window.length];
+            }
+            window = grown;
+            head = 0;
+        }
+
+        int shortest() {
+            return best == Integer.MAX_VALUE ? 0 : best;
+        }
+    }
+
+    // S마다 Q1806의 두 포인터를 다시 돌리는 방식과 비교 (질의당 O(n) 훑기 횟수도 출력)
+    public static void main(String[] args) {
+        Random random = new Random(1806);
+        int n = 100_000;
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) values[i] = random.nextInt(10_000) + 1;
+
+        for (int queries : new int[]{1, 10, 100, 1_000, 10_000}) {
+            long[] targets = new long[queries];
+            for (int q = 0; q < queries; q++) {
+                // 짧은 답부터 배열 전체 합 근처(긴 답, 답 없음)까지 고르게
+                targets[q] = (long) Math.pow(10, 4 + random.nextDouble() * 4.8);
+            }
+
+            long t0 = System.nanoTime();
+            int[] expected = new int[queries];
+            for (int q = 0; q < queries; q++) expected[q] = twoPointer(values, n, targets[q]);
+            long t1 = System.nanoTime();
+            ShortestSubarray engine = new ShortestSubarray(values, n);
+            int[] answers = engine.shortest(targets);
+            long t2 = System.nanoTime();
+
+            boolean streamSame = true;
+            long t3 = System.nanoTime();
+            boolean singleSame = true;
+            for (int q = 0; q < Math.min(queries, 20); q++) singleSame &= engine.shortest(targets[q]) == expected[q];
+            long t4 = System.nanoTime();
+            for (int q = 0; q < Math.min(queries, 20); q++) {
+                Stream stream = new Stream(targets[q]);
+                for (int i = 0; i < n; i++) stream.push(values[i]);
+                streamSame &= stream.shortest() == expected[q];
+            }
+
+            System.out.printf("n=%d queries=%d two-pointer each %.1f ms, offline engine %.1f ms (%.2f window evaluations per query), same=%b stream same=%b%n",
+                    n, queries, (t1 - t0) / 1e6, (t2 - t1) / 1e6, (double) engine.evaluations / queries,
+                    Arrays.equals(expected, answers), streamSame);
+            System.out.printf("  single query shortest(long) %.2f ms each, same=%b%n",
+                    (t4 - t3) / 1e6 / Math.min(queries, 20), singleSame);
+        }
+    }
+
+    static int twoPointer(int[] array, int length, long targetSum) {
+        int startPoint = 0;
+        long sum = 0;
+        int minLength = Integer.MAX_VALUE;
+        for (int endPoint = 0; endPoint < length; endPoint++) {
+            sum += array[endPoint];
+            while (sum >= targetSum) {
+                minLength = Math.min(minLength, endPoint - startPoint + 1);
+                sum -= array[startPoint++];
+            }
+        }
+        return minLength == Integer.MAX_VALUE ? 0 : minLength;
+    }
+}
@@ -0,0 +1,56 @@
+package com.unocode.unionfind;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// 공백/개행으로 나뉜 토큰을 byte 그대로 읽는다. 토큰은 재사용하는 token 배열에 복사된다.
+// String을 만들지 않으므로 이름(Q4195)과 숫자(Q28277) 입력을 모두 이것으로 읽는다.
+public class ByteReader {
+    final InputStream in;
+    final byte[] buffer = new byte[1 << 16];
+    int position;
+    int limit;
+    public byte[] token = new byte[64];
+
+    public ByteReader(InputStream in) {
+        this.in = in;
+    }
+
+    int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        // 0xFF가 -1(EOF)로, 0x80 이상이 음수로 읽히지 않도록 unsigned로 돌려준다.
+        return buffer[position++] & 0xFF;
+    }
+
+    // 토큰 길이, 입력 끝이면 -1
+    public int next() throws IOException {
+        int c = read();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') c = read();
+        if (c == -1) return -1;
+        int count = 0;
+        while (c != -1 && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+            if (count == token.length) token = Arrays.copyOf(token, count * 2);
+            token[count++] = (byte) c;
+            c = read();
+        }
+        return count;
+    }
+
+    public int nextInt() throws IOException {
+        int count = next();
+        int value = 0;
+        boolean negative = token[0] == '-';
+        for (int i = negative ? 1 : 0; i < count; i++) {
+            value = value * 10 + (token[i] - '0');
+        }
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,196 @@
+package com.unocode.unionfind;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 여러 스레드가 동시에 union/find 하는 lock-free union-find (Q4195 친구 네트워크를 여러 입력 스레드가 합치는 경우)
+// 칸 하나에 두 가지를 담는다: slot[x] >= 0 이면 부모 index, slot[x] < 0 이면 x는 루트이고 -slot[x]가 집합 크기
+// - link: 우선순위(priority)가 낮은 루트를 높은 루트 밑으로 CAS(slot[child]: -size -> parent)
+//         부모 쪽 우선순위가 항상 더 높으므로 경로에 사이클이 생기지 않는다.
+//         priority(x) = x * 홀수 상수 -> 32비트에서 전단사라 동점이 없고, 입력 순서와 무관하게 섞인다. (무작위 link 순서 효과)
+// - 크기: link에 성공한 스레드가 자식 크기를 새 루트에 CAS로 더한다. 그 사이 루트가 다른 곳에 붙으면 다시 find해서 더한다.
+//         따라서 componentSize는 진행 중인 union의 크기 반영이 잠깐 늦을 수 있고, 모든 union이 끝나면 정확하다.
+// - find: CAS path halving (실패해도 다른 스레드가 이미 줄인 것이므로 무시)
+public class ConcurrentDisjointSet {
+
+    final AtomicIntegerArray slot;
+
+    public ConcurrentDisjointSet(int n) {
+        slot = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) slot.set(i, -1);
+    }
+
+    static int priority(int x) {
+        return x * 0x9E3779B9;
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = slot.get(x);
+            if (p < 0) return x;
+            int gp = slot.get(p);
+            if (gp < 0) return p;
+            slot.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    // 이번 호출이 두 집합을 합쳤으면 true
+    public boolean union(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return false;
+
+            int child = priority(ra) < priority(rb) ? ra : rb;
+            int parent = child == ra ? rb : ra;
+            int childValue = slot.get(child);
+            if (childValue >= 0) continue; // 그 사이 다른 스레드가 child를 붙였다.
+            if (slot.compareAndSet(child, childValue, parent)) {
+                addSize(parent, -childValue);
+                return true;
+            }
+        }
+    }
+
+    void addSize(int root, int amount) {
+        while (true) {
+            int value = slot.get(root);
+            if (value < 0) {
+                if (slot.compareAndSet(root, value, value - amount)) return;
+            } else {
+                root = find(root);
+            }
+        }
+    }
+
+    public boolean sameSet(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return true;
+            // ra가 아직 루트이면 그 순간 두 원소는 다른 집합이었다.
+            if (slot.get(ra) < 0) return false;
+        }
+    }
+
+    public int componentSize(int x) {
+        while (true) {
+            int root = find(x);
+            int value = slot.get(root);
+            if (value < 0) return -value;
+        }
+    }
+
+    // 1. 스트레스 테스트: 여러 스레드가 같은 union 목록을 나눠(겹치게) 처리한 결과를 순차 DisjointSet과 비교하고,
+    //    동시에 읽는 스레드가 한 번 같은 집합이라고 본 쌍이 다시 달라지지 않는지 확인한다.
+    // 2. 처리량: 스레드 수별 union+find 초당 연산 수, synchronized로 감싼 DisjointSet과 비교
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = Math.max(8, cores);
+        Random random = new Random(4195);
+
+        boolean allSame = true;
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(100_000);
+            int m = random.nextInt(2 * n);
+            int[] a = new int[m];
+            int[] b = new int[m];
+            for (int i = 0; i < m; i++) {
+                a[i] = random.nextInt(n);
+                b[i] = random.nextInt(n);
+            }
+
+            ConcurrentDisjointSet concurrent = new ConcurrentDisjointSet(n);
+            boolean[] monotonic = {true};
+            // 각 스레드는 자기 구간 + 다음 스레드 구간 절반을 처리한다. (같은 union이 겹쳐 들어오는 경우)
+            runAll(threads, t -> {
+                int from = (int) ((long) m * t / threads);
+                int to = (int) Math.min(m, (long) m * (t + 1) / threads + m / threads / 2);
+                for (int i = from; i < to; i++) concurrent.union(a[i], b[i]);
+            }, () -> {
+                Random r = new Random();
+                for (int q = 0; q < 2_000; q++) {
+                    int x = r.nextInt(n);
+                    int y = r.nextInt(n);
+                    if (concurrent.sameSet(x, y) && !concurrent.sameSet(x, y)) monotonic[0] = false;
+                }
+            });
+
+            DisjointSet sequential = new DisjointSet(n);
+            for (int i = 0; i < m; i++) sequential.union(a[i], b[i]);
+            boolean same = monotonic[0];
+            for (int x = 0; x < n && same; x++) {
+                same = concurrent.componentSize(x) == sequential.size(x);
+                int y = random.nextInt(n);
+                same &= concurrent.sameSet(x, y) == sequential.sameSet(x, y);
+            }
+            allSame &= same;
+        }
+        System.out.printf("stress test (%d threads, 20 rounds) same=%b%n", threads, allSame);
+
+        int n = 1_000_000;
+        int operations = 8_000_000;
+        int[] a = new int[operations];
+        int[] b = new int[operations];
+        for (int i = 0; i < operations; i++) {
+            a[i] = random.nextInt(n);
+            b[i] = random.nextInt(n);
+        }
+        for (int t = 1; t <= Math.max(cores, 1); t *= 2) {
+            int workers = t;
+            ConcurrentDisjointSet lockFree = new ConcurrentDisjointSet(n);
+            long t0 = System.nanoTime();
+            runAll(workers, w -> {
+                for (int i = w; i < operations; i += workers) {
+                    if ((i & 1) == 0) lockFree.union(a[i], b[i]);
+                    else lockFree.sameSet(a[i], b[i]);
+                }
+            }, null);
+            long t1 = System.nanoTime();
+
+            DisjointSet locked = new DisjointSet(n);
+            runAll(workers, w -> {
+                for (int i = w; i < operations; i += workers) {
+                    synchronized (locked) {
+                        if ((i & 1) == 0) locked.union(a[i], b[i]);
+                        else locked.sameSet(a[i], b[i]);
+                    }
+                }
+            }, null);
+            long t2 = System.nanoTime();
+            System.out.printf("threads=%d lock-free %.1f M ops/s, synchronized DisjointSet %.1f M ops/s%n",
+                    workers, operations / ((t1 - t0) / 1e3), operations / ((t2 - t1) / 1e3));
+        }
+    }
+
+    interface Worker {
+        void run(int index);
+    }
+
+    // workers개의 스레드를 동시에 출발시키고, reader가 있으면 같은 시간에 함께 돌린다.
+    static void runAll(int workers, Worker worker, Runnable reader) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong failures = new AtomicLong();
+        Thread[] pool = new Thread[workers + (reader == null ? 0 : 1)];
+        for (int t = 0; t < pool.length; t++) {
+            int index = t;
+            pool[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    if (index < workers) worker.run(index);
+                    else reader.run();
+                } catch (Throwable e) {
+                    failures.incrementAndGet();
+                    e.printStackTrace();
+                }
+            });
+            pool[t].start();
+        }
+        start.countDown();
+        for (Thread thread : pool) thread.join();
+        if (failures.get() > 0) throw new IllegalStateException(failures.get() + " worker(s) failed");
+    }
+}
@@ -0,0 +1,181 @@
+package com.unocode.unionfind;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// 여러 문제(Q1197, Q4195, Q10775)가 함께 쓰는 union-find
+// - 원소는 0..n-1, parent/size는 primitive int[]
+// - find는 반복 path halving (재귀 없음), union은 union-by-size -> 트리 높이 O(log n)
+// - components() : 현재 집합 개수
+// rollback 모드 (오프라인 동적 연결성 등):
+// - find가 경로를 바꾸지 않고 union-by-size만 쓴다. (높이 O(log n) 유지)
+// - 성공한 union마다 붙인 루트를 undo 스택에 쌓고, rollback(snapshot)으로 그 시점까지 되돌린다.
+public class DisjointSet {
+
+    final int[] parent;
+    final int[] size;
+    final boolean rollback;
+    int components;
+
+    // rollback 모드의 undo 스택: 다른 루트 밑으로 붙은 루트 (parent를 보면 어디에 붙었는지 알 수 있다)
+    int[] history;
+    int historySize;
+
+    public DisjointSet(int n) {
+        this(n, false);
+    }
+
+    public DisjointSet(int n, boolean rollback) {
+        this.parent = new int[n];
+        this.size = new int[n];
+        this.rollback = rollback;
+        this.history = rollback ? new int[16] : null;
+        reset(n);
+    }
+
+    // 앞의 n개만 다시 초기 상태로 만든다. (테스트 케이스마다 배열을 새로 만들지 않기 위해)
+    public void reset(int n) {
+        if (n > parent.length) throw new IllegalArgumentException("n exceeds capacity: " + n + " > " + parent.length);
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        components = n;
+        historySize = 0;
+    }
+
+    public int capacity() {
+        return parent.length;
+    }
+
+    public int find(int x) {
+        if (rollback) {
+            while (parent[x] != x) x = parent[x];
+            return x;
+        }
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    // 다른 집합이었으면 합치고 true
+    public boolean union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) return false;
+        if (size[a] < size[b]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        link(b, a);
+        return true;
+    }
+
+    void link(int child, int root) {
+        parent[child] = root;
+        size[root] += size[child];
+        components--;
+        if (rollback) {
+            if (historySize == history.length) history = Arrays.copyOf(history, historySize * 2);
+            history[historySize++] = child;
+        }
+    }
+
+    public boolean sameSet(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    public int size(int x) {
+        return size[find(x)];
+    }
+
+    public int components() {
+        return components;
+    }
+
+    // rollback 모드에서 지금까지의 union 개수. rollback(snapshot)에 넘긴다.
+    public int snapshot() {
+        if (!rollback) throw new IllegalStateException("snapshot requires rollback mode");
+        return historySize;
+    }
+
+    public void rollback(int snapshot) {
+        if (!rollback) throw new IllegalStateException("rollback requires rollback mode");
+        while (historySize > snapshot) {
+            int child = history[--historySize];
+            int root = parent[child];
+            size[root] -= size[child];
+            parent[child] = child;
+            components++;
+        }
+    }
+
+    // 1. 한 줄로 이어지는 union 순서(재귀 find가 깊어지는 경우)에서 재귀 구현과 비교
+    // 2. rollback 모드를 무작위 union/되돌리기 순서에서 매번 다시 만든 집합과 비교
+    public static void main(String[] args) throws InterruptedException {
+        int n = 1_000_000;
+        long[] recursive = {0};
+        long t0 = System.nanoTime();
+        Thread thread = new Thread(null, () -> {
+            int[] parent = new int[n];
+            for (int i = 0; i < n; i++) parent[i] = i;
+            // 크기를 보지 않고 이전 루트를 새 원소 밑에 붙이면 0 -> 1 -> ... -> n-1 한 줄이 된다.
+            for (int i = 1; i < n; i++) parent[recursiveFind(parent, i - 1)] = recursiveFind(parent, i);
+            long sum = 0;
+            for (int i = 0; i < n; i++) sum += recursiveFind(parent, i);
+            recursive[0] = sum;
+        }, "recursive", 1L << 30);
+        thread.start();
+        thread.join();
+        long t1 = System.nanoTime();
+        DisjointSet sets = new DisjointSet(n);
+        for (int i = 1; i < n; i++) sets.union(i - 1, i);
+        long sum = 0;
+        int root = sets.find(0);
+        for (int i = 0; i < n; i++) sum += sets.find(i) == root ? n - 1 : -1;
+        long t2 = System.nanoTime();
+        System.out.printf("chain n=%d recursive %d ms, DisjointSet %d ms, components=%d same=%b%n",
+                n, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, sets.components(), recursive[0] == sum);
+
+        Random random = new Random(4195);
+        int m = 2_000;
+        DisjointSet undoable = new DisjointSet(m, true);
+        int[] a = new int[m];
+        int[] b = new int[m];
+        // snapshots[i] = i번째 union 직전의 snapshot
+        int[] snapshots = new int[m];
+        int count = 0;
+        boolean same = true;
+        for (int step = 0; step < 20_000; step++) {
+            if (count > 0 && random.nextInt(3) == 0) {
+                count = random.nextInt(count);
+                undoable.rollback(snapshots[count]);
+            } else if (count < m) {
+                a[count] = random.nextInt(m);
+                b[count] = random.nextInt(m);
+                snapshots[count] = undoable.snapshot();
+                undoable.union(a[count], b[count]);
+                count++;
+            }
+            if (step % 100 == 0) {
+                DisjointSet fresh = new DisjointSet(m);
+                for (int i = 0; i < count; i++) fresh.union(a[i], b[i]);
+                same &= fresh.components() == undoable.components();
+                for (int i = 0; i < 100; i++) {
+                    int x = random.nextInt(m);
+                    int y = random.nextInt(m);
+                    same &= fresh.sameSet(x, y) == undoable.sameSet(x, y) && fresh.size(x) == undoable.size(x);
+                }
+            }
+        }
+        System.out.printf("rollback random ops same=%b%n", same);
+    }
+
+    static int recursiveFind(int[] parent, int x) {
+        if (parent[x] == x) return x;
+        return parent[x] = recursiveFind(parent, parent[x]);
+    }
+}
@@ -0,0 +1,233 @@
+package com.unocode.unionfind;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+// boxing 없는 int 집합 (open addressing, linear probing). Q28277의 HashSet<Integer> 대신 쓴다.
+// - 원소 하나 = int 한 칸 (HashSet은 Integer + HashMap.Node)
+// - 빈 칸 표시는 0, 원소 0은 hasZero 플래그로 따로 둔다.
+// - size()는 O(1), addAll은 다른 집합의 keys 배열을 직접 훑는다. (iterator 객체 없음)
+// - 순회는 slot 커서: for (int s = set.next(0); s >= 0; s = set.next(s + 1)) set.key(s)
+// - clear()는 큰 배열을 버리고 기본 크기로 돌아간다. (합쳐진 쪽 집합의 메모리를 바로 놓아 준다)
+public class IntHashSet {
+
+    static final int DEFAULT_CAPACITY = 4;
+
+    int[] keys;
+    int mask;
+    int shift;
+    int size;
+    boolean hasZero;
+
+    public IntHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntHashSet(int expected) {
+        allocate(tableSizeFor(expected));
+    }
+
+    // 사용률 1/2 이하
+    static int tableSizeFor(int expected) {
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) << 1);
+    }
+
+    void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    // Fibonacci hashing: 상위 비트를 slot으로 쓴다.
+    int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int key) {
+        if (key == 0) return hasZero;
+        for (int s = slot(key); ; s = (s + 1) & mask) {
+            int k = keys[s];
+            if (k == 0) return false;
+            if (k == key) return true;
+        }
+    }
+
+    public boolean add(int key) {
+        if (key == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int s = slot(key);
+        for (int k = keys[s]; k != 0; k = keys[s]) {
+            if (k == key) return false;
+            s = (s + 1) & mask;
+        }
+        keys[s] = key;
+        size++;
+        if (size * 2 > keys.length) resize(keys.length * 2);
+        return true;
+    }
+
+    public void addAll(IntHashSet other) {
+        ensureCapacity(size + other.size);
+        if (other.hasZero) add(0);
+        int[] source = other.keys;
+        for (int key : source) {
+            if (key != 0) add(key);
+        }
+    }
+
+    void ensureCapacity(int expected) {
+        int capacity = tableSizeFor(expected);
+        if (capacity > keys.length) resize(capacity);
+    }
+
+    void resize(int capacity) {
+        int[] old = keys;
+        allocate(capacity);
+        for (int key : old) {
+            if (key == 0) continue;
+            int s = slot(key);
+            while (keys[s] != 0) s = (s + 1) & mask;
+            keys[s] = key;
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        hasZero = false;
+        if (keys.length > DEFAULT_CAPACITY) {
+            allocate(DEFAULT_CAPACITY);
+        } else {
+            Arrays.fill(keys, 0);
+        }
+    }
+
+    // slot 커서: from 이상에서 원소가 있는 첫 slot, 없으면 -1. 원소 0은 slot keys.length 로 나타낸다.
+    public int next(int from) {
+        for (int s = from; s < keys.length; s++) {
+            if (keys[s] != 0) return s;
+        }
+        return from <= keys.length && hasZero ? keys.length : -1;
+    }
+
+    public int key(int slot) {
+        return slot == keys.length ? 0 : keys[slot];
+    }
+
+    // Q28277 입력(N = 200,000 집합, 원소 합 500,000, 질의 500,000)에서 HashSet<Integer> 방식과 시간/메모리 비교
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(28277);
+        int n = 200_000;
+        int q = 500_000;
+        int total = 500_000;
+        StringBuilder input = new StringBuilder();
+        input.append(n).append(' ').append(q).append('\n');
+        int[] sizes = new int[n + 1];
+        for (int e = 0; e < total; e++) sizes[random.nextInt(n) + 1]++;
+        for (int i = 1; i <= n; i++) {
+            input.append(sizes[i]);
+            for (int j = 0; j < sizes[i]; j++) input.append(' ').append(random.nextInt(1_000_000_000) + 1);
+            input.append('\n');
+        }
+        for (int i = 0; i < q; i++) {
+            int a = random.nextInt(n) + 1;
+            if (random.nextBoolean()) {
+                int b = random.nextInt(n) + 1;
+                if (b == a) b = a % n + 1;
+                input.append("1 ").append(a).append(' ').append(b).append('\n');
+            } else {
+                input.append("2 ").append(a).append('\n');
+            }
+        }
+        byte[] bytes = input.toString().getBytes();
+
+        long base = usedMemory();
+        Set<Integer>[] boxed = readBoxedSets(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes))));
+        long boxedMemory = usedMemory() - base;
+        ByteReader in = new ByteReader(new ByteArrayInputStream(bytes));
+        int sets = in.nextInt();
+        in.nextInt();
+        IntHashSet[] primitive = Q28277.readSets(in, sets);
+        long primitiveMemory = usedMemory() - base - boxedMemory;
+        // 측정이 끝날 때까지 두 배열이 살아 있도록 여기서 크기를 비교한다.
+        boolean sameSizes = true;
+        for (int i = 1; i <= sets; i++) sameSizes &= boxed[i].size() == primitive[i].size();
+        System.out.printf("memory after loading %d elements: HashSet<Integer> %d MB, IntHashSet %d MB, same=%b%n",
+                total, boxedMemory >> 20, primitiveMemory >> 20, sameSizes);
+        boxed = null;
+        primitive = null;
+
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            String expected = hashSetVersion(new ByteArrayInputStream(bytes));
+            long t1 = System.nanoTime();
+            String actual = Q28277.solve(new ByteArrayInputStream(bytes));
+            long t2 = System.nanoTime();
+            System.out.printf("round %d: HashSet<Integer> %d ms, IntHashSet %d ms, same=%b%n",
+                    round, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, expected.equals(actual));
+        }
+    }
+
+    // GC 후 사용 중인 heap 크기
+    static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // 첫 줄(N Q)을 포함해 집합 N개를 읽는다.
+    static Set<Integer>[] readBoxedSets(BufferedReader br) throws IOException {
+        StringTokenizer st = new StringTokenizer(br.readLine());
+        int N = Integer.parseInt(st.nextToken());
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Set<Integer>[] sets = new Set[N + 1];
+        for (int i = 1; i <= N; i++) {
+            sets[i] = new HashSet<>();
+            st = new StringTokenizer(br.readLine());
+            int size = Integer.parseInt(st.nextToken());
+            for (int j = 0; j < size; j++) sets[i].add(Integer.parseInt(st.nextToken()));
+        }
+        return sets;
+    }
+
+    // Q28277의 원래 방식 (입력만 인자로 받는다)
+    static String hashSetVersion(InputStream input) throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(input));
+        Set<Integer>[] sets = readBoxedSets(br);
+        StringBuilder sb = new StringBuilder();
+        String line;
+        while ((line = br.readLine()) != null) {
+            StringTokenizer st = new StringTokenizer(line);
+            int op = Integer.parseInt(st.nextToken());
+            if (op == 1) {
+                int a = Integer.parseInt(st.nextToken());
+                int b = Integer.parseInt(st.nextToken());
+                if (sets[a].size() < sets[b].size()) {
+                    Set<Integer> tmp = sets[a];
+                    sets[a] = sets[b];
+                    sets[b] = tmp;
+                }
+                sets[a].addAll(sets[b]);
+                sets[b].clear();
+            } else {
+                sb.append(sets[Integer.parseInt(st.nextToken())].size()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,171 @@
+package com.unocode.unionfind;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringTokenizer;
+
+// 이름(byte 조각) -> 0부터 순서대로 붙는 id. Q4195의 HashMap<String, Integer> 대신 쓴다.
+// - String을 만들지 않고 입력 byte를 그대로 해시(FNV-1a)하고, 처음 보는 이름만 arena(byte[] 하나)에 복사한다.
+// - open addressing (linear probing), 표에는 id만 두고 비교는 저장된 해시 -> 길이 -> byte 순서로 한다.
+// - reset()은 세대(generation) 번호만 올린다. 표/arena를 지우거나 새로 만들지 않으므로 테스트 케이스마다 O(1)
+public class NameInterner {
+
+    int[] table;
+    int[] stamp;
+    int generation = 1;
+    int mask;
+
+    // id별 정보
+    int[] hashes;
+    int[] start;
+    int[] length;
+    int size;
+
+    byte[] arena;
+    int arenaUsed;
+
+    public NameInterner(int expectedNames) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedNames * 2 - 1)) << 1;
+        table = new int[capacity];
+        stamp = new int[capacity];
+        mask = capacity - 1;
+        hashes = new int[Math.max(16, expectedNames)];
+        start = new int[hashes.length];
+        length = new int[hashes.length];
+        arena = new byte[hashes.length * 8];
+    }
+
+    public void reset() {
+        size = 0;
+        arenaUsed = 0;
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int intern(byte[] bytes, int offset, int count) {
+        int h = 0x811C9DC5;
+        for (int i = offset, end = offset + count; i < end; i++) {
+            h = (h ^ bytes[i]) * 0x01000193;
+        }
+
+        int slot = mix(h) & mask;
+        while (stamp[slot] == generation) {
+            int id = table[slot];
+            if (hashes[id] == h && length[id] == count
+                    && Arrays.equals(arena, start[id], start[id] + count, bytes, offset, offset + count)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size++;
+        if (id == hashes.length) {
+            int grown = id * 2;
+            hashes = Arrays.copyOf(hashes, grown);
+            start = Arrays.copyOf(start, grown);
+            length = Arrays.copyOf(length, grown);
+        }
+        if (arenaUsed + count > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaUsed + count));
+        }
+        System.arraycopy(bytes, offset, arena, arenaUsed, count);
+        hashes[id] = h;
+        start[id] = arenaUsed;
+        length[id] = count;
+        arenaUsed += count;
+
+        table[slot] = id;
+        stamp[slot] = generation;
+        if (size * 2 > table.length) rehash();
+        return id;
+    }
+
+    static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    void rehash() {
+        int capacity = table.length * 2;
+        table = new int[capacity];
+        stamp = new int[capacity];
+        mask = capacity - 1;
+        generation = 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (stamp[slot] == generation) slot = (slot + 1) & mask;
+            table[slot] = id;
+            stamp[slot] = generation;
+        }
+    }
+
+    // Q4195 전체 입력(테스트 케이스 10개, 관계 100,000개)에서 HashMap<String, Integer> 방식과 비교
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(4195);
+        StringBuilder input = new StringBuilder();
+        int cases = 10;
+        int relations = 100_000;
+        input.append(cases).append('\n');
+        for (int c = 0; c < cases; c++) {
+            String[] pool = new String[relations];
+            for (int i = 0; i < relations; i++) {
+                char[] name = new char[1 + random.nextInt(20)];
+                for (int k = 0; k < name.length; k++) {
+                    int r = random.nextInt(52);
+                    name[k] = (char) (r < 26 ? 'a' + r : 'A' + r - 26);
+                }
+                pool[i] = new String(name);
+            }
+            input.append(relations).append('\n');
+            for (int i = 0; i < relations; i++) {
+                input.append(pool[random.nextInt(relations)]).append(' ').append(pool[random.nextInt(relations)]).append('\n');
+            }
+        }
+        byte[] bytes = input.toString().getBytes();
+
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            String expected = hashMapVersion(new ByteArrayInputStream(bytes));
+            long t1 = System.nanoTime();
+            String actual = Q4195.solve(new ByteArrayInputStream(bytes));
+            long t2 = System.nanoTime();
+            System.out.printf("round %d: HashMap<String, Integer> %d ms, NameInterner + reused DisjointSet %d ms, same=%b%n",
+                    round, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, expected.equals(actual));
+        }
+    }
+
+    // Q4195의 원래 방식 (입력만 인자로 받는다)
+    static String hashMapVersion(InputStream input) throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(input));
+        StringBuilder sb = new StringBuilder();
+        int T = Integer.parseInt(br.readLine());
+        while (T-- > 0) {
+            int F = Integer.parseInt(br.readLine());
+            DisjointSet sets = new DisjointSet(F * 2);
+            int idx = 0;
+            Map<String, Integer> map = new HashMap<>();
+            for (int i = 0; i < F; i++) {
+                StringTokenizer st = new StringTokenizer(br.readLine());
+                String a = st.nextToken();
+                String b = st.nextToken();
+                if (!map.containsKey(a)) map.put(a, idx++);
+                if (!map.containsKey(b)) map.put(b, idx++);
+                sets.union(map.get(a), map.get(b));
+                sb.append(sets.size(map.get(a))).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,14 +1,13 @@
 package com.unocode.unionfind;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.HashSet;
-import java.util.StringTokenizer;
-import java.util.Set;
+import java.io.InputStream;
 
 public class Q28277 {
     public static void main(String[] args) throws IOException {
+        System.out.print(solve(System.in));
+
+        /*
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         StringTokenizer st = new StringTokenizer(br.readLine());
 
@@ -52,5 +51,51 @@ public class Q28277 {
         }
 
         System.out.print(sb.toString());
+        */
+    }
+
+    // 집합은 boxing 없는 IntHashSet, 입력은 byte 단위로 읽는다.
+    static String solve(InputStream input) throws IOException {
+        ByteReader in = new ByteReader(input);
+        int N = in.nextInt();
+        int Q = in.nextInt();
+        IntHashSet[] sets = readSets(in, N);
+
+        StringBuilder sb = new StringBuilder();
+        while (Q-- > 0) {
+            int op = in.nextInt();
+
+            if (op == 1) {
+                int a = in.nextInt();
+                int b = in.nextInt();
+                if (sets[a].size() < sets[b].size()) {
+                    // swap small and large
+                    IntHashSet tmp = sets[a];
+                    sets[a] = sets[b];
+                    sets[b] = tmp;
+                }
+                // merge b into a
+                sets[a].addAll(sets[b]);
+                sets[b].clear();
+
+            } else {
+                int a = in.nextInt();
+                sb.append(sets[a].size()).append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    static IntHashSet[] readSets(ByteReader in, int N) throws IOException {
+        IntHashSet[] sets = new IntHashSet[N + 1];
+        for (int i = 1; i <= N; i++) {
+            int size = in.nextInt();
+            sets[i] = new IntHashSet(size);
+            for (int j = 0; j < size; j++) {
+                sets[i].add(in.nextInt());
+            }
+        }
+        return sets;
     }
 }
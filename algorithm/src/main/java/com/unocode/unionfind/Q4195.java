@@ -1,70 +1,51 @@
 package com.unocode.unionfind;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.StringTokenizer;
+import java.io.IOException;
+import java.io.InputStream;
 
 public class Q4195 {
 
-    static int[] parent;
-    static int[] size;
-    static int idx;
-
-    static int find(int x) {
-        if (parent[x] == x) return x;
-        return parent[x] = find(parent[x]);
-    }
+    static DisjointSet sets;
 
+    // 합친 뒤 a가 속한 네트워크의 크기
     static int union(int a, int b) {
-        a = find(a);
-        b = find(b);
-
-        if (a != b) {
-            parent[b] = a;
-            size[a] += size[b];
-        }
-        return size[a];
+        sets.union(a, b);
+        return sets.size(a);
     }
 
     public static void main(String[] args) throws Exception {
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        System.out.print(solve(System.in));
+    }
+
+    // 이름은 입력 byte에서 바로 id로 바꾸고(NameInterner), 이름 표와 DisjointSet은 테스트 케이스 사이에 재사용한다.
+    static String solve(InputStream input) throws IOException {
+        ByteReader in = new ByteReader(input);
+        NameInterner names = new NameInterner(1 << 10);
+        sets = new DisjointSet(2);
         StringBuilder sb = new StringBuilder();
 
-        int T = Integer.parseInt(br.readLine());
+        int T = in.nextInt();
 
         while (T-- > 0) {
-            int F = Integer.parseInt(br.readLine());
-
-            parent = new int[F * 2];
-            size = new int[F * 2];
-            idx = 0;
+            int F = in.nextInt();
 
-            Map<String, Integer> map = new HashMap<>();
-
-            for (int i = 0; i < F * 2; i++) {
-                parent[i] = i;
-                size[i] = 1;
+            if (sets.capacity() < F * 2) {
+                sets = new DisjointSet(F * 2);
+            } else {
+                sets.reset(F * 2);
             }
+            names.reset();
 
             for (int i = 0; i < F; i++) {
-                StringTokenizer st = new StringTokenizer(br.readLine());
-                String a = st.nextToken();
-                String b = st.nextToken();
-
-                if (!map.containsKey(a)) {
-                    map.put(a, idx++);
-                }
-                if (!map.containsKey(b)) {
-                    map.put(b, idx++);
-                }
+                int length = in.next();
+                int a = names.intern(in.token, 0, length);
+                length = in.next();
+                int b = names.intern(in.token, 0, length);
 
-                int result = union(map.get(a), map.get(b));
-                sb.append(result).append("\n");
+                sb.append(union(a, b)).append("\n");
             }
         }
 
-        System.out.print(sb);
+        return sb.toString();
     }
 }